@@ -0,0 +1,251 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.logmanager;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A concurrent map with weakly referenced values, backed by a {@link ConcurrentHashMap}. Updates never copy the map,
+ * so inserting many entries is linear, and concurrent inserts of different keys rarely contend. Entries whose values
+ * have been collected are removed on the next update.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+final class ConcurrentWeakValueMap<K, V> extends AbstractMap<K, V> implements ConcurrentMap<K, V> {
+
+    private final ConcurrentHashMap<K, Node<K, V>> map = new ConcurrentHashMap<>();
+    private final Queue<K, V> queue = new Queue<K, V>();
+    private Set<Entry<K, V>> entrySet;
+
+    private void expunge() {
+        Node<K, V> node;
+        while ((node = queue.poll()) != null) {
+            map.remove(node.getKey(), node);
+        }
+    }
+
+    public V get(final Object key) {
+        if (key == null)
+            return null;
+        final Node<K, V> node = map.get(key);
+        return node == null ? null : node.get();
+    }
+
+    public boolean containsKey(final Object key) {
+        return get(key) != null;
+    }
+
+    public V putIfAbsent(final K key, final V value) {
+        if (key == null) {
+            throw new IllegalArgumentException("key is null");
+        }
+        if (value == null) {
+            throw new IllegalArgumentException("value is null");
+        }
+        expunge();
+        final Node<K, V> newNode = new Node<K, V>(key, value, queue);
+        for (;;) {
+            final Node<K, V> oldNode = map.putIfAbsent(key, newNode);
+            if (oldNode == null) {
+                return null;
+            }
+            final V existing = oldNode.get();
+            if (existing != null) {
+                return existing;
+            }
+            if (map.replace(key, oldNode, newNode)) {
+                return null;
+            }
+        }
+    }
+
+    public V put(final K key, final V value) {
+        if (key == null) {
+            throw new IllegalArgumentException("key is null");
+        }
+        if (value == null) {
+            throw new IllegalArgumentException("value is null");
+        }
+        expunge();
+        final Node<K, V> old = map.put(key, new Node<K, V>(key, value, queue));
+        return old == null ? null : old.get();
+    }
+
+    public V remove(final Object key) {
+        if (key == null)
+            return null;
+        expunge();
+        final Node<K, V> old = map.remove(key);
+        return old == null ? null : old.get();
+    }
+
+    public boolean remove(final Object key, final Object value) {
+        if (key == null || value == null)
+            return false;
+        expunge();
+        final Node<K, V> oldNode = map.get(key);
+        if (oldNode != null) {
+            final V existing = oldNode.get();
+            return existing != null && existing.equals(value) && map.remove(key, oldNode);
+        }
+        return false;
+    }
+
+    public boolean replace(final K key, final V oldValue, final V newValue) {
+        if (newValue == null) {
+            throw new IllegalArgumentException("newValue is null");
+        }
+        if (oldValue == null) {
+            return false;
+        }
+        expunge();
+        final Node<K, V> oldNode = map.get(key);
+        if (oldNode != null) {
+            final V existing = oldNode.get();
+            return existing != null && existing.equals(oldValue)
+                    && map.replace(key, oldNode, new Node<K, V>(key, newValue, queue));
+        }
+        return false;
+    }
+
+    public V replace(final K key, final V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("value is null");
+        }
+        expunge();
+        for (;;) {
+            final Node<K, V> oldNode = map.get(key);
+            final V existing = oldNode == null ? null : oldNode.get();
+            if (existing == null) {
+                return null;
+            }
+            if (map.replace(key, oldNode, new Node<K, V>(key, value, queue))) {
+                return existing;
+            }
+        }
+    }
+
+    public int size() {
+        expunge();
+        return map.size();
+    }
+
+    public boolean isEmpty() {
+        return !entrySet().iterator().hasNext();
+    }
+
+    public void clear() {
+        map.clear();
+        queue.clear();
+    }
+
+    public Set<Entry<K, V>> entrySet() {
+        final Set<Entry<K, V>> entrySet = this.entrySet;
+        if (entrySet != null) {
+            return entrySet;
+        }
+        return this.entrySet = new AbstractSet<Entry<K, V>>() {
+            public Iterator<Entry<K, V>> iterator() {
+                return new EntryIterator();
+            }
+
+            public int size() {
+                return ConcurrentWeakValueMap.this.size();
+            }
+        };
+    }
+
+    private final class EntryIterator implements Iterator<Entry<K, V>> {
+        private final Iterator<Node<K, V>> iterator = map.values().iterator();
+        private Node<K, V> nextNode;
+        private V nextValue;
+        private Node<K, V> lastNode;
+
+        public boolean hasNext() {
+            while (nextValue == null) {
+                if (!iterator.hasNext()) {
+                    return false;
+                }
+                final Node<K, V> node = iterator.next();
+                final V value = node.get();
+                if (value != null) {
+                    nextNode = node;
+                    nextValue = value;
+                }
+            }
+            return true;
+        }
+
+        public Entry<K, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final Entry<K, V> entry = new SimpleImmutableEntry<>(nextNode.getKey(), nextValue);
+            lastNode = nextNode;
+            nextNode = null;
+            nextValue = null;
+            return entry;
+        }
+
+        public void remove() {
+            final Node<K, V> lastNode = this.lastNode;
+            if (lastNode == null) {
+                throw new IllegalStateException();
+            }
+            this.lastNode = null;
+            map.remove(lastNode.getKey(), lastNode);
+        }
+    }
+
+    private static final class Node<K, V> extends WeakReference<V> {
+        private final K key;
+
+        Node(final K key, final V value, final ReferenceQueue<? super V> queue) {
+            super(value, queue);
+            this.key = key;
+        }
+
+        K getKey() {
+            return key;
+        }
+    }
+
+    private static final class Queue<K, V> extends ReferenceQueue<V> {
+
+        @SuppressWarnings("unchecked")
+        public Node<K, V> poll() {
+            return (Node<K, V>) super.poll();
+        }
+
+        void clear() {
+            while (poll() != null)
+                ;
+        }
+    }
+}
@@ -31,6 +31,28 @@ import java.util.logging.LogRecord;
  * A formatter which handles {@link org.jboss.logmanager.ExtLogRecord ExtLogRecord} instances.
  */
 public abstract class ExtFormatter extends Formatter {
+    private static final String[] MESSAGE_FORMATTING_METHODS = { "formatMessageNone", "formatMessageLegacy",
+            "formatMessagePrintf" };
+
+    /**
+     * Whether a formatter type overrides any of the message formatting methods, in which case the messages it formats
+     * may differ from {@link ExtLogRecord#getFormattedMessage()}.
+     */
+    private static final ClassValue<Boolean> MESSAGE_FORMATTING_OVERRIDDEN = new ClassValue<Boolean>() {
+        protected Boolean computeValue(final Class<?> type) {
+            for (Class<?> c = type; c != ExtFormatter.class; c = c.getSuperclass()) {
+                for (String name : MESSAGE_FORMATTING_METHODS) {
+                    try {
+                        c.getDeclaredMethod(name, LogRecord.class);
+                        return Boolean.TRUE;
+                    } catch (NoSuchMethodException ignored) {
+                    }
+                }
+            }
+            return Boolean.FALSE;
+        }
+    };
+
     /**
      * Construct a new instance.
      */
@@ -66,9 +88,27 @@ public abstract class ExtFormatter extends Formatter {
      */
     public abstract String format(ExtLogRecord record);
 
+    /**
+     * Format a message using an extended log record, appending the result to the given builder. Callers which format
+     * many records may reuse the same builder to avoid allocating a new string for each record. The default
+     * implementation appends the result of {@link #format(ExtLogRecord)}.
+     *
+     * @param target the builder to append the formatted record to (must not be {@code null})
+     * @param record the log record
+     */
+    public void formatTo(final StringBuilder target, final ExtLogRecord record) {
+        target.append(format(record));
+    }
+
     @Override
+    @SuppressWarnings("deprecation") // record.getFormattedMessage()
     public String formatMessage(LogRecord record) {
         final ResourceBundle bundle = record.getResourceBundle();
+        if (bundle == null && record instanceof ExtLogRecord
+                && !MESSAGE_FORMATTING_OVERRIDDEN.get(getClass()).booleanValue()) {
+            // the record formats the message in the same way, and remembers it for filters and other handlers
+            return ((ExtLogRecord) record).getFormattedMessage();
+        }
         String msg = record.getMessage();
         if (msg == null) {
             return null;
@@ -123,25 +163,27 @@ public abstract class ExtFormatter extends Formatter {
     }
 
     /**
-     * Format the message text as if there are no parameters. The default implementation delegates to
-     * {@link MessageFormat#format(String, Object[]) MessageFormat.format(record.getMessage(),record.getParameters())}.
+     * Format the message text as if there are no parameters. The default implementation produces the same result as
+     * {@link MessageFormat#format(String, Object[]) MessageFormat.format(record.getMessage(),record.getParameters())},
+     * parsing each distinct message only once.
      *
      * @param record the record to format
      * @return the formatted string
      */
     protected String formatMessageLegacy(LogRecord record) {
-        return MessageFormat.format(record.getMessage(), record.getParameters());
+        return MessageTemplates.formatMessageFormat(record.getMessage(), record.getParameters());
     }
 
     /**
-     * Format the message text as if there are no parameters. The default implementation delegates to
-     * {@link String#format(String, Object[]) String.format(record.getMessage(),record.getParameters())}.
+     * Format the message text as if there are no parameters. The default implementation produces the same result as
+     * {@link String#format(String, Object[]) String.format(record.getMessage(),record.getParameters())}, parsing each
+     * distinct message only once.
      *
      * @param record the record to format
      * @return the formatted string
      */
     protected String formatMessagePrintf(LogRecord record) {
-        return String.format(record.getMessage(), record.getParameters());
+        return MessageTemplates.formatPrintf(record.getMessage(), record.getParameters());
     }
 
     static class WrappedFormatter extends ExtFormatter {
@@ -196,6 +238,10 @@ public abstract class ExtFormatter extends Formatter {
             return delegate.format(record);
         }
 
+        public void formatTo(final StringBuilder target, final ExtLogRecord record) {
+            delegate.formatTo(target, record);
+        }
+
         public String formatMessage(final LogRecord record) {
             return delegate.formatMessage(record);
         }
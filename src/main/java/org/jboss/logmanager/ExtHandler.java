@@ -24,6 +24,7 @@ import java.io.UnsupportedEncodingException;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.security.Permission;
+import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.concurrent.locks.ReentrantLock;
@@ -109,34 +110,37 @@ public abstract class ExtHandler extends Handler implements AutoCloseable, Flush
             }
     }
 
+    /**
+     * Publish a batch of {@code ExtLogRecord}s. Records which are {@code null} or not
+     * {@linkplain #isLoggable(LogRecord) loggable} are skipped.
+     * <p/>
+     * Handlers which can write several records more cheaply than one at a time, for example by acquiring their lock and
+     * flushing only once, should override {@link #doPublishBatch(List)}.
+     *
+     * @param records the log records to publish
+     */
+    public void publishBatch(final List<ExtLogRecord> records) {
+        if (enabled && records != null && !records.isEmpty())
+            try {
+                doPublishBatch(records);
+            } catch (Exception e) {
+                reportError("Handler publication threw an exception", e, ErrorManager.WRITE_FAILURE);
+            } catch (Throwable ignored) {
+            }
+    }
+
     /**
      * Publish a log record to each nested handler.
      *
      * @param record the log record to publish
      */
-    @SuppressWarnings("deprecation") // record.getFormattedMessage()
     protected void publishToNestedHandlers(final ExtLogRecord record) {
         if (record != null) {
             LogRecord oldRecord = null;
             for (Handler handler : getHandlers())
                 try {
                     if (handler != null) {
-                        if (handler instanceof ExtHandler || handler.getFormatter() instanceof ExtFormatter) {
-                            handler.publish(record);
-                        } else {
-                            // old-style handlers generally don't know how to handle printf formatting
-                            if (oldRecord == null) {
-                                if (record.getFormatStyle() == ExtLogRecord.FormatStyle.PRINTF) {
-                                    // reformat it in a simple way, but only for legacy handler usage
-                                    oldRecord = new ExtLogRecord(record);
-                                    oldRecord.setMessage(record.getFormattedMessage());
-                                    oldRecord.setParameters(null);
-                                } else {
-                                    oldRecord = record;
-                                }
-                            }
-                            handler.publish(oldRecord);
-                        }
+                        oldRecord = publishToNestedHandler(handler, record, oldRecord);
                     }
                 } catch (Exception e) {
                     reportError(handler, "Nested handler publication threw an exception", e, ErrorManager.WRITE_FAILURE);
@@ -145,6 +149,59 @@ public abstract class ExtHandler extends Handler implements AutoCloseable, Flush
         }
     }
 
+    /**
+     * Publish a batch of log records to each nested handler. Nested {@code ExtHandler}s receive the whole batch through
+     * {@link #publishBatch(List)}; other handlers receive each record in turn.
+     *
+     * @param records the log records to publish
+     */
+    protected void publishBatchToNestedHandlers(final List<ExtLogRecord> records) {
+        if (records != null && !records.isEmpty()) {
+            for (Handler handler : getHandlers()) {
+                if (handler instanceof ExtHandler) {
+                    try {
+                        ((ExtHandler) handler).publishBatch(records);
+                    } catch (Exception e) {
+                        reportError(handler, "Nested handler publication threw an exception", e, ErrorManager.WRITE_FAILURE);
+                    } catch (Throwable ignored) {
+                    }
+                } else if (handler != null) {
+                    for (ExtLogRecord record : records)
+                        try {
+                            if (record != null) {
+                                publishToNestedHandler(handler, record, null);
+                            }
+                        } catch (Exception e) {
+                            reportError(handler, "Nested handler publication threw an exception", e,
+                                    ErrorManager.WRITE_FAILURE);
+                        } catch (Throwable ignored) {
+                        }
+                }
+            }
+        }
+    }
+
+    @SuppressWarnings("deprecation") // record.getFormattedMessage()
+    private static LogRecord publishToNestedHandler(final Handler handler, final ExtLogRecord record, LogRecord oldRecord) {
+        if (handler instanceof ExtHandler || handler.getFormatter() instanceof ExtFormatter) {
+            handler.publish(record);
+        } else {
+            // old-style handlers generally don't know how to handle printf formatting
+            if (oldRecord == null) {
+                if (record.getFormatStyle() == ExtLogRecord.FormatStyle.PRINTF) {
+                    // reformat it in a simple way, but only for legacy handler usage
+                    oldRecord = new ExtLogRecord(record);
+                    oldRecord.setMessage(record.getFormattedMessage());
+                    oldRecord.setParameters(null);
+                } else {
+                    oldRecord = record;
+                }
+            }
+            handler.publish(oldRecord);
+        }
+        return oldRecord;
+    }
+
     /**
      * Do the actual work of publication; the record will have been filtered already. The default implementation
      * does nothing except to flush if the {@code autoFlush} property is set to {@code true}; if this behavior is to be
@@ -157,6 +214,20 @@ public abstract class ExtHandler extends Handler implements AutoCloseable, Flush
             flush();
     }
 
+    /**
+     * Do the actual work of publishing a batch of records. Unlike {@link #doPublish(ExtLogRecord)}, the records have
+     * <em>not</em> been filtered yet; implementations must skip records which are {@code null} or not
+     * {@linkplain #isLoggable(LogRecord) loggable}. The default implementation {@linkplain #publish(ExtLogRecord)
+     * publishes} each record individually.
+     *
+     * @param records the log records to publish, not {@code null} or empty
+     */
+    protected void doPublishBatch(final List<ExtLogRecord> records) {
+        for (ExtLogRecord record : records) {
+            publish(record);
+        }
+    }
+
     /**
      * Add a sub-handler to this handler. Some handler types do not utilize sub-handlers.
      *
@@ -29,10 +29,11 @@ import java.lang.invoke.MethodHandles;
 import java.lang.invoke.MethodType;
 import java.lang.reflect.UndeclaredThrowableException;
 import java.security.PrivilegedAction;
-import java.text.MessageFormat;
 import java.util.Map;
 import java.util.MissingResourceException;
+import java.util.Objects;
 import java.util.ResourceBundle;
+import java.util.function.Function;
 import java.util.logging.LogRecord;
 
 import io.smallrye.common.net.HostName;
@@ -83,7 +84,8 @@ public class ExtLogRecord extends LogRecord {
     }
 
     /**
-     * Construct a new instance. Grabs the current NDC immediately. MDC is deferred.
+     * Construct a new instance. The MDC, NDC and thread name are captured from the current thread when first
+     * requested, or when the record is {@linkplain #copyMdc() prepared} to be passed to another thread.
      *
      * @param level           a logging level value
      * @param msg             the raw non-localized logging message (may be null)
@@ -94,7 +96,8 @@ public class ExtLogRecord extends LogRecord {
     }
 
     /**
-     * Construct a new instance. Grabs the current NDC immediately. MDC is deferred.
+     * Construct a new instance. The MDC, NDC and thread name are captured from the current thread when first
+     * requested, or when the record is {@linkplain #copyMdc() prepared} to be passed to another thread.
      *
      * @param level           a logging level value
      * @param msg             the raw non-localized logging message (may be null)
@@ -106,12 +109,11 @@ public class ExtLogRecord extends LogRecord {
         super(level, msg);
         this.formatStyle = formatStyle == null ? FormatStyle.MESSAGE_FORMAT : formatStyle;
         this.loggerClassName = loggerClassName;
-        ndc = NDC.get();
-        threadName = Thread.currentThread().getName();
         longThreadID = Thread.currentThread().getId(); // todo: threadId() on 19+
-        hostName = HostName.getQualifiedHostName();
-        processName = io.smallrye.common.os.Process.getProcessName();
-        processId = doPrivileged((PrivilegedAction<ProcessHandle>) ProcessHandle::current).pid();
+        final ProcessInfo processInfo = ProcessInfo.current();
+        hostName = processInfo.hostName;
+        processName = processInfo.processName;
+        processId = processInfo.processId;
     }
 
     /**
@@ -141,12 +143,16 @@ public class ExtLogRecord extends LogRecord {
         formatStyle = original.formatStyle;
         marker = original.marker;
         mdcCopy = original.mdcCopy;
-        ndc = original.ndc;
+        mdcSnapshot = original.mdcSnapshot;
+        ndc = original.getNdc();
         loggerClassName = original.loggerClassName;
-        threadName = original.threadName;
+        threadName = original.getThreadName();
+        threadContextCaptured = true;
         hostName = original.hostName;
         processName = original.processName;
         processId = original.processId;
+        formattedMessage = original.formattedMessage;
+        renderedStackTrace = original.renderedStackTrace;
     }
 
     /**
@@ -168,10 +174,29 @@ public class ExtLogRecord extends LogRecord {
 
     private final transient String loggerClassName;
     private transient boolean calculateCaller = true;
+    /**
+     * Whether the {@link #ndc} and {@link #threadName} have been captured or set.
+     */
+    private transient boolean threadContextCaptured;
 
     private String ndc;
     private FormatStyle formatStyle;
     private FastCopyHashMap<String, Object> mdcCopy;
+    /**
+     * An immutable MDC snapshot shared with a {@link TrieMDCProvider}, used instead of {@link #mdcCopy} until
+     * the MDC of this record is modified.
+     */
+    private transient Map<String, Object> mdcSnapshot;
+    /**
+     * The result of {@link #getFormattedMessage()}, discarded whenever the message, its parameters or its resource
+     * bundle are changed.
+     */
+    private transient FormattedMessage formattedMessage;
+    /**
+     * The last stack trace rendered by {@link #getRenderedStackTrace(Object, Function)}, discarded whenever the thrown
+     * exception is changed.
+     */
+    private transient RenderedStackTrace renderedStackTrace;
     private int sourceLineNumber = -1;
     private String sourceFileName;
     private String threadName;
@@ -185,6 +210,7 @@ public class ExtLogRecord extends LogRecord {
 
     private void writeObject(ObjectOutputStream oos) throws IOException {
         copyAll();
+        getMutableMdc();
         oos.defaultWriteObject();
     }
 
@@ -192,6 +218,7 @@ public class ExtLogRecord extends LogRecord {
     private void readObject(ObjectInputStream ois) throws IOException, ClassNotFoundException {
         final ObjectInputStream.GetField fields = ois.readFields();
         ndc = (String) fields.get("ndc", null);
+        threadContextCaptured = true;
         formatStyle = (FormatStyle) fields.get("formatStyle", FormatStyle.MESSAGE_FORMAT);
         mdcCopy = (FastCopyHashMap<String, Object>) fields.get("mdcCopy", new FastCopyHashMap<>());
         sourceLineNumber = fields.get("sourceLineNumber", -1);
@@ -234,12 +261,42 @@ public class ExtLogRecord extends LogRecord {
     }
 
     /**
-     * Copy the MDC. Call this method before passing this log record to another thread. Calling this method
-     * more than once has no additional effect and will not incur extra copies.
+     * Copy the MDC, and capture the NDC and thread name if that has not happened yet. Call this method before passing
+     * this log record to another thread. Calling this method more than once has no additional effect and will not
+     * incur extra copies.
      */
     public void copyMdc() {
+        if (mdcCopy == null && mdcSnapshot == null) {
+            final MDCProvider provider = MDC.getMDCProvider();
+            if (provider instanceof TrieMDCProvider) {
+                mdcSnapshot = ((TrieMDCProvider) provider).snapshot();
+            } else {
+                mdcCopy = FastCopyHashMap.of(provider.copyObject());
+            }
+        }
+        captureThreadContext();
+    }
+
+    private Map<String, Object> getCopiedMdc() {
+        copyMdc();
+        final Map<String, Object> mdcCopy = this.mdcCopy;
+        return mdcCopy == null ? mdcSnapshot : mdcCopy;
+    }
+
+    private FastCopyHashMap<String, Object> getMutableMdc() {
+        copyMdc();
         if (mdcCopy == null) {
-            mdcCopy = FastCopyHashMap.of(MDC.getMDCProvider().copyObject());
+            mdcCopy = new FastCopyHashMap<>(mdcSnapshot);
+            mdcSnapshot = null;
+        }
+        return mdcCopy;
+    }
+
+    private void captureThreadContext() {
+        if (!threadContextCaptured) {
+            ndc = NDC.get();
+            threadName = Thread.currentThread().getName();
+            threadContextCaptured = true;
         }
     }
 
@@ -250,8 +307,8 @@ public class ExtLogRecord extends LogRecord {
      * @return the property value
      */
     public String getMdc(String key) {
-        final Map<String, Object> mdcCopy = this.mdcCopy;
-        if (mdcCopy == null) {
+        Map<String, Object> mdcCopy = this.mdcCopy;
+        if (mdcCopy == null && (mdcCopy = mdcSnapshot) == null) {
             return MDC.get(key);
         }
         final Object value = mdcCopy.get(key);
@@ -264,10 +321,9 @@ public class ExtLogRecord extends LogRecord {
      * @return a copy of the MDC map
      */
     public Map<String, String> getMdcCopy() {
-        copyMdc();
         // Create a new map with string values
         final FastCopyHashMap<String, String> newMdc = new FastCopyHashMap<String, String>();
-        for (Map.Entry<String, Object> entry : mdcCopy.entrySet()) {
+        for (Map.Entry<String, Object> entry : getCopiedMdc().entrySet()) {
             final String key = entry.getKey();
             final Object value = entry.getValue();
             newMdc.put(key, (value == null ? null : value.toString()));
@@ -283,8 +339,7 @@ public class ExtLogRecord extends LogRecord {
      * @return the old value, if any
      */
     public String putMdc(String key, String value) {
-        copyMdc();
-        final Object oldValue = mdcCopy.put(key, value);
+        final Object oldValue = getMutableMdc().put(key, value);
         return oldValue == null ? null : oldValue.toString();
     }
 
@@ -295,8 +350,7 @@ public class ExtLogRecord extends LogRecord {
      * @return the old value, if any
      */
     public String removeMdc(String key) {
-        copyMdc();
-        final Object oldValue = mdcCopy.remove(key);
+        final Object oldValue = getMutableMdc().remove(key);
         return oldValue == null ? null : oldValue.toString();
     }
 
@@ -315,6 +369,7 @@ public class ExtLogRecord extends LogRecord {
             }
         }
         mdcCopy = newMdc;
+        mdcSnapshot = null;
     }
 
     /**
@@ -323,6 +378,7 @@ public class ExtLogRecord extends LogRecord {
      * @return the NDC
      */
     public String getNdc() {
+        captureThreadContext();
         return ndc;
     }
 
@@ -332,6 +388,7 @@ public class ExtLogRecord extends LogRecord {
      * @param value the new NDC value
      */
     public void setNdc(String value) {
+        captureThreadContext();
         ndc = value;
     }
 
@@ -489,12 +546,28 @@ public class ExtLogRecord extends LogRecord {
 
     /**
      * Get the fully formatted log record, with resources resolved and parameters applied.
+     * <p>
+     * The formatted message is cached until the message, the parameters or the resource bundle change, including
+     * changes made directly to the elements of the {@linkplain #getParameters() parameters} array. Changes to the
+     * state of the parameter objects themselves are not detected.
+     * </p>
      *
      * @return the formatted log record
      * @deprecated The formatter should normally be used to format the message contents.
      */
     @Deprecated
     public String getFormattedMessage() {
+        final String message = getMessage();
+        final ResourceBundle bundle = getResourceBundle();
+        final Object[] parameters = getParameters();
+        FormattedMessage formattedMessage = this.formattedMessage;
+        if (formattedMessage == null || !formattedMessage.matches(message, bundle, parameters)) {
+            this.formattedMessage = formattedMessage = new FormattedMessage(message, bundle, parameters, formatMessage());
+        }
+        return formattedMessage.text;
+    }
+
+    private String formatMessage() {
         final ResourceBundle bundle = getResourceBundle();
         String msg = getMessage();
         if (msg == null)
@@ -512,10 +585,10 @@ public class ExtLogRecord extends LogRecord {
         }
         switch (formatStyle) {
             case PRINTF: {
-                return String.format(msg, parameters);
+                return MessageTemplates.formatPrintf(msg, parameters);
             }
             case MESSAGE_FORMAT: {
-                return msg.indexOf('{') >= 0 ? MessageFormat.format(msg, parameters) : msg;
+                return msg.indexOf('{') >= 0 ? MessageTemplates.formatMessageFormat(msg, parameters) : msg;
             }
         }
         // should be unreachable
@@ -542,6 +615,7 @@ public class ExtLogRecord extends LogRecord {
      * @return the thread name
      */
     public String getThreadName() {
+        captureThreadContext();
         return threadName;
     }
 
@@ -551,6 +625,7 @@ public class ExtLogRecord extends LogRecord {
      * @param threadName the thread name
      */
     public void setThreadName(final String threadName) {
+        captureThreadContext();
         this.threadName = threadName;
     }
 
@@ -628,6 +703,7 @@ public class ExtLogRecord extends LogRecord {
     public void setMessage(final String message, final FormatStyle formatStyle) {
         this.formatStyle = formatStyle == null ? FormatStyle.MESSAGE_FORMAT : formatStyle;
         super.setMessage(message);
+        formattedMessage = null;
     }
 
     /**
@@ -637,6 +713,7 @@ public class ExtLogRecord extends LogRecord {
      */
     public void setParameters(final Object[] parameters) {
         super.setParameters(parameters);
+        formattedMessage = null;
     }
 
     /**
@@ -646,6 +723,7 @@ public class ExtLogRecord extends LogRecord {
      */
     public void setResourceBundle(final ResourceBundle bundle) {
         super.setResourceBundle(bundle);
+        formattedMessage = null;
     }
 
     /**
@@ -655,6 +733,40 @@ public class ExtLogRecord extends LogRecord {
      */
     public void setResourceBundleName(final String name) {
         super.setResourceBundleName(name);
+        formattedMessage = null;
+    }
+
+    /**
+     * Set the exception thrown with this event. Any cached rendered stack trace is discarded.
+     *
+     * @param thrown the thrown exception (may be null)
+     */
+    public void setThrown(final Throwable thrown) {
+        super.setThrown(thrown);
+        renderedStackTrace = null;
+    }
+
+    /**
+     * Get the stack trace of the {@linkplain #getThrown() thrown exception} as rendered by the given function. The
+     * rendered stack trace is cached with the given key, so that it is rendered only once for all formatters which
+     * render it in the same way, as indicated by an equal key.
+     *
+     * @param key      the key identifying how the stack trace is rendered (must not be {@code null})
+     * @param renderer the function which renders the stack trace (must not be {@code null})
+     * @return the rendered stack trace, or {@code null} if there is no thrown exception
+     */
+    public String getRenderedStackTrace(final Object key, final Function<Throwable, String> renderer) {
+        Objects.requireNonNull(key, "key");
+        Objects.requireNonNull(renderer, "renderer");
+        final Throwable thrown = getThrown();
+        if (thrown == null) {
+            return null;
+        }
+        RenderedStackTrace renderedStackTrace = this.renderedStackTrace;
+        if (renderedStackTrace == null || renderedStackTrace.thrown != thrown || !renderedStackTrace.key.equals(key)) {
+            this.renderedStackTrace = renderedStackTrace = new RenderedStackTrace(thrown, key, renderer.apply(thrown));
+        }
+        return renderedStackTrace.text;
     }
 
     /**
@@ -715,4 +827,81 @@ public class ExtLogRecord extends LogRecord {
         this.longThreadID = id;
         return this;
     }
+
+    /**
+     * A formatted message, along with what it was formatted from.
+     */
+    private static final class FormattedMessage {
+        final String message;
+        final ResourceBundle bundle;
+        final Object[] parameters;
+        // a copy of the parameters, to detect changes made to the array itself
+        final Object[] values;
+        final String text;
+
+        FormattedMessage(final String message, final ResourceBundle bundle, final Object[] parameters, final String text) {
+            this.message = message;
+            this.bundle = bundle;
+            this.parameters = parameters;
+            values = parameters == null ? null : parameters.clone();
+            this.text = text;
+        }
+
+        boolean matches(final String message, final ResourceBundle bundle, final Object[] parameters) {
+            if (message != this.message || bundle != this.bundle || parameters != this.parameters) {
+                return false;
+            }
+            if (parameters != null) {
+                final Object[] values = this.values;
+                for (int i = 0; i < values.length; i++) {
+                    if (parameters[i] != values[i]) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * A stack trace rendered for a thrown exception, along with the key identifying how it was rendered.
+     */
+    private static final class RenderedStackTrace {
+        final Throwable thrown;
+        final Object key;
+        final String text;
+
+        RenderedStackTrace(final Throwable thrown, final Object key, final String text) {
+            this.thrown = thrown;
+            this.key = key;
+            this.text = text;
+        }
+    }
+
+    /**
+     * The process-wide values captured for each record, resolved once and shared by all records. The snapshot is
+     * replaced if the qualified host name changes.
+     */
+    private static final class ProcessInfo {
+        private static volatile ProcessInfo current;
+
+        final String hostName;
+        final String processName;
+        final long processId;
+
+        private ProcessInfo(final String hostName) {
+            this.hostName = hostName;
+            processName = io.smallrye.common.os.Process.getProcessName();
+            processId = doPrivileged((PrivilegedAction<ProcessHandle>) ProcessHandle::current).pid();
+        }
+
+        static ProcessInfo current() {
+            final String hostName = HostName.getQualifiedHostName();
+            ProcessInfo processInfo = current;
+            if (processInfo == null || !Objects.equals(processInfo.hostName, hostName)) {
+                current = processInfo = new ProcessInfo(hostName);
+            }
+            return processInfo;
+        }
+    }
 }
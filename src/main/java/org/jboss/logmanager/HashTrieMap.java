@@ -0,0 +1,426 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.logmanager;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * An immutable hash array mapped trie. Each {@link #with(Object, Object) update} returns a new map which shares all
+ * unchanged nodes with the original, so holding on to a version of the map is a pointer copy.
+ * <p>
+ * Neither keys nor values may be {@code null}. The mutator methods inherited from {@link Map} are not supported.
+ * </p>
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+final class HashTrieMap<K, V> extends AbstractMap<K, V> {
+
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+
+    private static final HashTrieMap<?, ?> EMPTY = new HashTrieMap<>(null, 0);
+
+    private final BitmapNode root;
+    private final int size;
+    private Set<Map.Entry<K, V>> entrySet;
+
+    private HashTrieMap(final BitmapNode root, final int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * Get the empty map.
+     *
+     * @param <K> the key type
+     * @param <V> the value type
+     * @return the empty map
+     */
+    @SuppressWarnings("unchecked")
+    static <K, V> HashTrieMap<K, V> empty() {
+        return (HashTrieMap<K, V>) EMPTY;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(final Object key) {
+        if (key == null || root == null) {
+            return null;
+        }
+        final Leaf<K, V> leaf = (Leaf<K, V>) root.find(key, key.hashCode(), 0);
+        return leaf == null ? null : leaf.getValue();
+    }
+
+    /**
+     * Get a map with the given mapping added or replaced.
+     *
+     * @param key   the key
+     * @param value the value
+     * @return the new map, or this map if it already contains the mapping
+     */
+    HashTrieMap<K, V> with(final K key, final V value) {
+        if (key == null) {
+            throw new NullPointerException("key is null");
+        }
+        if (value == null) {
+            throw new NullPointerException("value is null");
+        }
+        final Leaf<K, V> leaf = new Leaf<>(key.hashCode(), key, value);
+        if (root == null) {
+            return new HashTrieMap<>(new BitmapNode(bit(leaf.hash, 0), new Object[] { leaf }), 1);
+        }
+        final boolean[] added = new boolean[1];
+        final BitmapNode newRoot = root.put(leaf, 0, added);
+        return newRoot == root ? this : new HashTrieMap<>(newRoot, added[0] ? size + 1 : size);
+    }
+
+    /**
+     * Get a map with the mapping for the given key removed.
+     *
+     * @param key the key
+     * @return the new map, or this map if it does not contain the key
+     */
+    HashTrieMap<K, V> without(final Object key) {
+        if (key == null || root == null) {
+            return this;
+        }
+        final Object newRoot = root.remove(key, key.hashCode(), 0);
+        if (newRoot == root) {
+            return this;
+        } else if (newRoot == null) {
+            return empty();
+        } else if (newRoot instanceof BitmapNode) {
+            return new HashTrieMap<>((BitmapNode) newRoot, size - 1);
+        } else {
+            // the root collapsed to a single leaf or collision node
+            return new HashTrieMap<>(new BitmapNode(bit(hashOf(newRoot), 0), new Object[] { newRoot }), size - 1);
+        }
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        final Set<Map.Entry<K, V>> entrySet = this.entrySet;
+        if (entrySet != null) {
+            return entrySet;
+        }
+        return this.entrySet = new AbstractSet<Map.Entry<K, V>>() {
+            @Override
+            public Iterator<Map.Entry<K, V>> iterator() {
+                return new EntryIterator<>(root);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    private static int bit(final int hash, final int shift) {
+        return 1 << ((hash >>> shift) & MASK);
+    }
+
+    /**
+     * Create the smallest subtree holding both given slots, which are leaves or collision nodes with different keys.
+     */
+    private static Object merge(final Object a, final int hashA, final Object b, final int hashB, final int shift) {
+        if (hashA == hashB) {
+            // only leaves can share a hash here; a collision node is always extended in place
+            return new CollisionNode(hashA, new Object[] { a, b });
+        }
+        final int bitA = bit(hashA, shift);
+        final int bitB = bit(hashB, shift);
+        if (bitA == bitB) {
+            return new BitmapNode(bitA, new Object[] { merge(a, hashA, b, hashB, shift + BITS) });
+        }
+        return new BitmapNode(bitA | bitB, Integer.compareUnsigned(bitA, bitB) < 0 ? new Object[] { a, b }
+                : new Object[] { b, a });
+    }
+
+    private static int hashOf(final Object slot) {
+        return slot instanceof Leaf ? ((Leaf<?, ?>) slot).hash : ((CollisionNode) slot).hash;
+    }
+
+    private static Object[] replace(final Object[] slots, final int idx, final Object slot) {
+        final Object[] copy = slots.clone();
+        copy[idx] = slot;
+        return copy;
+    }
+
+    private static Object[] insert(final Object[] slots, final int idx, final Object slot) {
+        final Object[] copy = new Object[slots.length + 1];
+        System.arraycopy(slots, 0, copy, 0, idx);
+        copy[idx] = slot;
+        System.arraycopy(slots, idx, copy, idx + 1, slots.length - idx);
+        return copy;
+    }
+
+    private static Object[] delete(final Object[] slots, final int idx) {
+        final Object[] copy = new Object[slots.length - 1];
+        System.arraycopy(slots, 0, copy, 0, idx);
+        System.arraycopy(slots, idx + 1, copy, idx, copy.length - idx);
+        return copy;
+    }
+
+    /**
+     * An interior node. Each slot holds a {@link Leaf}, a nested {@code BitmapNode} or a {@link CollisionNode}, in the
+     * order of the bits set in the bitmap.
+     */
+    static final class BitmapNode {
+        final int bitmap;
+        final Object[] slots;
+
+        BitmapNode(final int bitmap, final Object[] slots) {
+            this.bitmap = bitmap;
+            this.slots = slots;
+        }
+
+        Object find(final Object key, final int hash, final int shift) {
+            final int bit = bit(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return null;
+            }
+            final Object slot = slots[Integer.bitCount(bitmap & (bit - 1))];
+            if (slot instanceof Leaf) {
+                final Leaf<?, ?> leaf = (Leaf<?, ?>) slot;
+                return leaf.hash == hash && leaf.getKey().equals(key) ? leaf : null;
+            } else if (slot instanceof BitmapNode) {
+                return ((BitmapNode) slot).find(key, hash, shift + BITS);
+            } else {
+                return ((CollisionNode) slot).find(key, hash);
+            }
+        }
+
+        BitmapNode put(final Leaf<?, ?> leaf, final int shift, final boolean[] added) {
+            final int hash = leaf.hash;
+            final int bit = bit(hash, shift);
+            final int idx = Integer.bitCount(bitmap & (bit - 1));
+            if ((bitmap & bit) == 0) {
+                added[0] = true;
+                return new BitmapNode(bitmap | bit, insert(slots, idx, leaf));
+            }
+            final Object slot = slots[idx];
+            final Object newSlot;
+            if (slot instanceof Leaf) {
+                final Leaf<?, ?> existing = (Leaf<?, ?>) slot;
+                if (existing.hash == hash && existing.getKey().equals(leaf.getKey())) {
+                    if (existing.getValue() == leaf.getValue()) {
+                        return this;
+                    }
+                    newSlot = leaf;
+                } else {
+                    added[0] = true;
+                    newSlot = merge(existing, existing.hash, leaf, hash, shift + BITS);
+                }
+            } else if (slot instanceof BitmapNode) {
+                newSlot = ((BitmapNode) slot).put(leaf, shift + BITS, added);
+            } else {
+                final CollisionNode collision = (CollisionNode) slot;
+                if (collision.hash == hash) {
+                    newSlot = collision.put(leaf, added);
+                } else {
+                    added[0] = true;
+                    newSlot = merge(collision, collision.hash, leaf, hash, shift + BITS);
+                }
+            }
+            return newSlot == slot ? this : new BitmapNode(bitmap, replace(slots, idx, newSlot));
+        }
+
+        /**
+         * Remove a key. Returns this node if the key is absent, {@code null} if the node becomes empty, or the
+         * remaining leaf or collision node if only one is left so that the parent can inline it.
+         */
+        Object remove(final Object key, final int hash, final int shift) {
+            final int bit = bit(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return this;
+            }
+            final int idx = Integer.bitCount(bitmap & (bit - 1));
+            final Object slot = slots[idx];
+            final Object newSlot;
+            if (slot instanceof Leaf) {
+                final Leaf<?, ?> leaf = (Leaf<?, ?>) slot;
+                if (leaf.hash != hash || !leaf.getKey().equals(key)) {
+                    return this;
+                }
+                newSlot = null;
+            } else if (slot instanceof BitmapNode) {
+                newSlot = ((BitmapNode) slot).remove(key, hash, shift + BITS);
+            } else {
+                newSlot = ((CollisionNode) slot).remove(key, hash);
+            }
+            if (newSlot == slot) {
+                return this;
+            }
+            if (newSlot == null) {
+                if (slots.length == 1) {
+                    return null;
+                }
+                if (slots.length == 2 && !(slots[idx ^ 1] instanceof BitmapNode)) {
+                    return slots[idx ^ 1];
+                }
+                return new BitmapNode(bitmap & ~bit, delete(slots, idx));
+            }
+            if (slots.length == 1 && !(newSlot instanceof BitmapNode)) {
+                return newSlot;
+            }
+            return new BitmapNode(bitmap, replace(slots, idx, newSlot));
+        }
+    }
+
+    /**
+     * A node holding two or more leaves whose keys have the same hash code.
+     */
+    static final class CollisionNode {
+        final int hash;
+        final Object[] slots;
+
+        CollisionNode(final int hash, final Object[] slots) {
+            this.hash = hash;
+            this.slots = slots;
+        }
+
+        Leaf<?, ?> find(final Object key, final int hash) {
+            if (hash == this.hash) {
+                for (Object slot : slots) {
+                    final Leaf<?, ?> leaf = (Leaf<?, ?>) slot;
+                    if (leaf.getKey().equals(key)) {
+                        return leaf;
+                    }
+                }
+            }
+            return null;
+        }
+
+        CollisionNode put(final Leaf<?, ?> leaf, final boolean[] added) {
+            for (int i = 0; i < slots.length; i++) {
+                final Leaf<?, ?> existing = (Leaf<?, ?>) slots[i];
+                if (existing.getKey().equals(leaf.getKey())) {
+                    return existing.getValue() == leaf.getValue() ? this : new CollisionNode(hash, replace(slots, i, leaf));
+                }
+            }
+            added[0] = true;
+            return new CollisionNode(hash, insert(slots, slots.length, leaf));
+        }
+
+        Object remove(final Object key, final int hash) {
+            if (hash == this.hash) {
+                for (int i = 0; i < slots.length; i++) {
+                    if (((Leaf<?, ?>) slots[i]).getKey().equals(key)) {
+                        return slots.length == 2 ? slots[i ^ 1] : new CollisionNode(hash, delete(slots, i));
+                    }
+                }
+            }
+            return this;
+        }
+    }
+
+    /**
+     * A single immutable mapping.
+     */
+    static final class Leaf<K, V> extends AbstractMap.SimpleImmutableEntry<K, V> {
+        private static final long serialVersionUID = -2427316102451370340L;
+
+        final int hash;
+
+        Leaf(final int hash, final K key, final V value) {
+            super(key, value);
+            this.hash = hash;
+        }
+    }
+
+    /**
+     * A depth-first iterator over the leaves of the trie.
+     */
+    private static final class EntryIterator<K, V> implements Iterator<Map.Entry<K, V>> {
+        // a trie of 32-bit hashes is at most 7 bitmap levels deep, plus one collision level
+        private final Object[][] stack = new Object[8][];
+        private final int[] positions = new int[8];
+        private int depth;
+        private Leaf<K, V> next;
+
+        EntryIterator(final BitmapNode root) {
+            if (root == null) {
+                depth = -1;
+            } else {
+                stack[0] = root.slots;
+                advance();
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private void advance() {
+            while (depth >= 0) {
+                final Object[] slots = stack[depth];
+                final int position = positions[depth];
+                if (position == slots.length) {
+                    stack[depth--] = null;
+                    continue;
+                }
+                positions[depth] = position + 1;
+                final Object slot = slots[position];
+                if (slot instanceof Leaf) {
+                    next = (Leaf<K, V>) slot;
+                    return;
+                }
+                depth++;
+                stack[depth] = slot instanceof BitmapNode ? ((BitmapNode) slot).slots : ((CollisionNode) slot).slots;
+                positions[depth] = 0;
+            }
+            next = null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Map.Entry<K, V> next() {
+            final Leaf<K, V> next = this.next;
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            advance();
+            return next;
+        }
+    }
+}
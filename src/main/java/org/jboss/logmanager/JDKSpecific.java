@@ -27,6 +27,7 @@ import java.util.EnumSet;
 import java.util.Iterator;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.stream.Stream;
 
@@ -75,43 +76,97 @@ final class JDKSpecific {
         }
     }
 
+    /**
+     * The maximum number of logger class names for which a {@linkplain CallerWalker sized walker} is kept.
+     */
+    private static final int MAX_CALLER_WALKERS = 64;
+
+    /**
+     * The largest stack depth a caller walker is sized for.
+     */
+    private static final int MAX_ESTIMATED_DEPTH = 256;
+
+    private static final ConcurrentHashMap<String, CallerWalker> CALLER_WALKERS = new ConcurrentHashMap<>();
+
+    /**
+     * The module name and version of each class, which never change once the class is defined.
+     */
+    private static final ClassValue<ModuleInfo> MODULE_INFO = new ClassValue<>() {
+        @Override
+        protected ModuleInfo computeValue(final Class<?> type) {
+            if (JBOSS_MODULES) {
+                final ModuleInfo moduleInfo = getModuleInfo(type);
+                if (moduleInfo != null) {
+                    return moduleInfo;
+                }
+            }
+            return getJdkModuleInfo(type);
+        }
+    };
+
     static void calculateCaller(ExtLogRecord logRecord) {
-        WALKER.walk(new CallerCalcFunction(logRecord));
+        final String loggerClassName = logRecord.getLoggerClassName();
+        final CallerWalker callerWalker = loggerClassName == null ? null : CALLER_WALKERS.get(loggerClassName);
+        final CallerCalcFunction function = new CallerCalcFunction(logRecord);
+        (callerWalker == null ? WALKER : callerWalker.walker).walk(function);
+        final int depth = function.depth;
+        if (depth > 0 && (callerWalker == null ? CALLER_WALKERS.size() < MAX_CALLER_WALKERS
+                : depth > callerWalker.estimatedDepth && callerWalker.estimatedDepth < MAX_ESTIMATED_DEPTH)) {
+            // size the walker so that the next walk for this logger class fetches all the frames it needs at once
+            CALLER_WALKERS.put(loggerClassName, new CallerWalker(Math.min(depth, MAX_ESTIMATED_DEPTH)));
+        }
     }
 
-    private static void calculateJdkModule(final ExtLogRecord logRecord, final Class<?> clazz) {
+    private static ModuleInfo getJdkModuleInfo(final Class<?> clazz) {
         final java.lang.Module module = clazz.getModule();
-        if (module != null) {
-            logRecord.setSourceModuleName(module.getName());
-            final ModuleDescriptor descriptor = module.getDescriptor();
-            if (descriptor != null) {
-                final Optional<ModuleDescriptor.Version> optional = descriptor.version();
-                if (optional.isPresent()) {
-                    logRecord.setSourceModuleVersion(optional.get().toString());
-                } else {
-                    logRecord.setSourceModuleVersion(null);
-                }
+        final ModuleDescriptor descriptor = module.getDescriptor();
+        if (descriptor != null) {
+            final Optional<ModuleDescriptor.Version> optional = descriptor.version();
+            if (optional.isPresent()) {
+                return new ModuleInfo(module.getName(), optional.get().toString());
             }
         }
+        return new ModuleInfo(module.getName(), null);
     }
 
-    private static void calculateModule(final ExtLogRecord logRecord, final Class<?> clazz) {
+    private static ModuleInfo getModuleInfo(final Class<?> clazz) {
         final Module module = Module.forClass(clazz);
         if (module != null) {
-            logRecord.setSourceModuleName(module.getName());
             final Version version = module.getVersion();
-            if (version != null) {
-                logRecord.setSourceModuleVersion(version.toString());
-            } else {
-                logRecord.setSourceModuleVersion(null);
-            }
-        } else {
-            calculateJdkModule(logRecord, clazz);
+            return new ModuleInfo(module.getName(), version == null ? null : version.toString());
+        }
+        return null;
+    }
+
+    private static final class ModuleInfo {
+        final String name;
+        final String version;
+
+        ModuleInfo(final String name, final String version) {
+            this.name = name;
+            this.version = version;
+        }
+    }
+
+    /**
+     * A stack walker whose frame batches are sized to reach the caller of a given logger class in one fetch.
+     */
+    private static final class CallerWalker {
+        final StackWalker walker;
+        final int estimatedDepth;
+
+        CallerWalker(final int estimatedDepth) {
+            walker = doPrivileged(new GetStackWalkerAction(estimatedDepth));
+            this.estimatedDepth = estimatedDepth;
         }
     }
 
     private static final class CallerCalcFunction implements Function<Stream<StackWalker.StackFrame>, Void> {
         private final ExtLogRecord logRecord;
+        /**
+         * The number of frames walked to find the caller, or 0 if it was not found.
+         */
+        int depth;
 
         CallerCalcFunction(final ExtLogRecord logRecord) {
             this.logRecord = logRecord;
@@ -121,8 +176,10 @@ final class JDKSpecific {
             final String loggerClassName = logRecord.getLoggerClassName();
             final Iterator<StackWalker.StackFrame> iterator = stream.iterator();
             boolean found = false;
+            int depth = 0;
             while (iterator.hasNext()) {
                 final StackWalker.StackFrame frame = iterator.next();
+                depth++;
                 final Class<?> clazz = frame.getDeclaringClass();
                 if (clazz.getName().equals(loggerClassName)) {
                     // next entry could be the one we want!
@@ -132,11 +189,10 @@ final class JDKSpecific {
                     logRecord.setSourceMethodName(frame.getMethodName());
                     logRecord.setSourceFileName(frame.getFileName());
                     logRecord.setSourceLineNumber(frame.getLineNumber());
-                    if (JBOSS_MODULES) {
-                        calculateModule(logRecord, clazz);
-                    } else {
-                        calculateJdkModule(logRecord, clazz);
-                    }
+                    final ModuleInfo moduleInfo = MODULE_INFO.get(clazz);
+                    logRecord.setSourceModuleName(moduleInfo.name);
+                    logRecord.setSourceModuleVersion(moduleInfo.version);
+                    this.depth = depth;
                     return null;
                 }
             }
@@ -146,11 +202,19 @@ final class JDKSpecific {
     }
 
     private static final class GetStackWalkerAction implements PrivilegedAction<StackWalker> {
+        private final int estimatedDepth;
+
         GetStackWalkerAction() {
+            this(0);
+        }
+
+        GetStackWalkerAction(final int estimatedDepth) {
+            this.estimatedDepth = estimatedDepth;
         }
 
         public StackWalker run() {
-            return StackWalker.getInstance(EnumSet.of(StackWalker.Option.RETAIN_CLASS_REFERENCE));
+            final Set<StackWalker.Option> options = EnumSet.of(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+            return estimatedDepth > 0 ? StackWalker.getInstance(options, estimatedDepth) : StackWalker.getInstance(options);
         }
     }
 
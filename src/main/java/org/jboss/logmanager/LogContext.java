@@ -35,6 +35,7 @@ import java.util.ServiceLoader;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.logging.Level;
@@ -79,6 +80,18 @@ public final class LogContext implements AutoCloseable {
 
     private final Set<LoggerNode> pinnedSet;
 
+    /**
+     * The logger nodes by the name they were requested with, so that repeated lookups do not walk the tree. The nodes
+     * are weakly referenced unless this context uses strong references.
+     */
+    private final ConcurrentMap<String, LoggerNode> loggerNodes;
+
+    /**
+     * Incremented when the logger tree is discarded on {@link #close()}, so that a lookup racing with it does not add
+     * a discarded node to {@link #loggerNodes}.
+     */
+    private final AtomicInteger closeCount = new AtomicInteger();
+
     private volatile Map<Logger.AttachmentKey<?>, Object> attachments;
 
     private static final VarHandle attachmentHandle = ConstantBootstraps.fieldVarHandle(MethodHandles.lookup(), "attachments",
@@ -130,6 +143,11 @@ public final class LogContext implements AutoCloseable {
      */
     final ReentrantLock treeLock = new ReentrantLock();
 
+    /**
+     * Incremented whenever the handlers or the use of parent handlers of any logger in this context change.
+     */
+    private final AtomicInteger handlersVersion = new AtomicInteger();
+
     LogContext(final boolean strong, LogContextInitializer initializer) {
         this.initializer = initializer;
         this.strong = strong || initializer.useStrongReferences();
@@ -138,6 +156,7 @@ public final class LogContext implements AutoCloseable {
         closeHandlers = new LinkedHashSet<>();
         attachments = Map.of();
         pinnedSet = this.strong ? Set.of() : ConcurrentHashMap.newKeySet();
+        loggerNodes = this.strong ? new ConcurrentHashMap<>() : new ConcurrentWeakValueMap<>();
     }
 
     /**
@@ -309,7 +328,16 @@ public final class LogContext implements AutoCloseable {
      * @see java.util.logging.LogManager#getLogger(String)
      */
     public Logger getLogger(String name) {
-        return rootLogger.getOrCreate(name).createLogger();
+        if (name == null) {
+            return rootLogger.createLogger();
+        }
+        LoggerNode node = loggerNodes.get(name);
+        if (node == null) {
+            final int closeCount = this.closeCount.get();
+            node = rootLogger.getOrCreate(name);
+            cacheLoggerNode(name, node, closeCount);
+        }
+        return node.createLogger();
     }
 
     /**
@@ -319,7 +347,7 @@ public final class LogContext implements AutoCloseable {
      * @return the logger instance, or {@code null} if no such logger node exists
      */
     public Logger getLoggerIfExists(String name) {
-        final LoggerNode node = rootLogger.getIfExists(name);
+        final LoggerNode node = getLoggerNodeIfExists(name);
         return node == null ? null : node.createLogger();
     }
 
@@ -332,12 +360,35 @@ public final class LogContext implements AutoCloseable {
      * @return the attachment or {@code null} if the logger or the attachment does not exist
      */
     public <V> V getAttachment(String loggerName, Logger.AttachmentKey<V> key) {
-        final LoggerNode node = rootLogger.getIfExists(loggerName);
+        final LoggerNode node = getLoggerNodeIfExists(loggerName);
         if (node == null)
             return null;
         return node.getAttachment(key);
     }
 
+    private LoggerNode getLoggerNodeIfExists(final String name) {
+        if (name == null) {
+            return rootLogger;
+        }
+        LoggerNode node = loggerNodes.get(name);
+        if (node == null) {
+            final int closeCount = this.closeCount.get();
+            node = rootLogger.getIfExists(name);
+            if (node != null) {
+                cacheLoggerNode(name, node, closeCount);
+            }
+        }
+        return node;
+    }
+
+    private void cacheLoggerNode(final String name, final LoggerNode node, final int closeCount) {
+        loggerNodes.putIfAbsent(name, node);
+        if (this.closeCount.get() != closeCount) {
+            // the tree was discarded while the node was looked up
+            loggerNodes.remove(name, node);
+        }
+    }
+
     /**
      * Get the level for a name.
      *
@@ -496,6 +547,8 @@ public final class LogContext implements AutoCloseable {
         try {
             // First we want to close all loggers
             recursivelyClose(rootLogger);
+            closeCount.incrementAndGet();
+            loggerNodes.clear();
             // Next process the close handlers associated with this log context
             for (AutoCloseable handler : closeHandlers) {
                 handler.close();
@@ -606,7 +659,15 @@ public final class LogContext implements AutoCloseable {
     }
 
     ConcurrentMap<String, LoggerNode> createChildMap() {
-        return strong ? new CopyOnWriteMap<String, LoggerNode>() : new CopyOnWriteWeakMap<String, LoggerNode>();
+        return strong ? new ConcurrentHashMap<String, LoggerNode>() : new ConcurrentWeakValueMap<String, LoggerNode>();
+    }
+
+    int getHandlersVersion() {
+        return handlersVersion.get();
+    }
+
+    void handlersChanged() {
+        handlersVersion.incrementAndGet();
     }
 
     boolean pin(LoggerNode node) {
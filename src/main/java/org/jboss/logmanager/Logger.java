@@ -21,6 +21,7 @@ package org.jboss.logmanager;
 
 import java.io.ObjectStreamException;
 import java.io.Serializable;
+import java.lang.invoke.MethodHandle;
 import java.util.Arrays;
 import java.util.Enumeration;
 import java.util.Locale;
@@ -161,6 +162,22 @@ public final class Logger extends java.util.logging.Logger implements Serializab
         return loggerNode.isLoggableLevel(level.intValue());
     }
 
+    /**
+     * Get a level check for this logger. The returned method handle has the type {@code ()boolean} and returns the
+     * same result as {@link #isLoggable(Level) isLoggable(level)}.
+     * <p>
+     * When the handle is held in a {@code static final} field and invoked with {@code invokeExact}, the JIT compiler
+     * treats the result as a constant, so a disabled logging statement guarded by it compiles down to nothing. The
+     * compiled code is invalidated when the effective level of this logger changes.
+     * </p>
+     *
+     * @param level the level to check
+     * @return the level check method handle
+     */
+    public MethodHandle getLevelCheck(Level level) {
+        return loggerNode.createLevelCheck(level.intValue());
+    }
+
     // Attachment mgmt
 
     /**
@@ -20,15 +20,22 @@
 package org.jboss.logmanager;
 
 import java.lang.invoke.ConstantBootstraps;
+import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.MutableCallSite;
+import java.lang.invoke.SwitchPoint;
 import java.lang.invoke.VarHandle;
 import java.lang.reflect.UndeclaredThrowableException;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
@@ -60,6 +67,8 @@ final class LoggerNode implements AutoCloseable {
     };
     private static final StackTraceElement[] EMPTY_STACK = new StackTraceElement[0];
 
+    private static final Filter[] NO_FILTERS = new Filter[0];
+
     /**
      * The log context.
      */
@@ -90,6 +99,14 @@ final class LoggerNode implements AutoCloseable {
      */
     private volatile boolean useParentHandlers = true;
 
+    /**
+     * The handlers of this logger followed by the inherited parent handlers, or {@code null} if not yet computed. The
+     * handlers are updated without holding the {@code treeLock}, so rather than being pushed down the tree this
+     * snapshot is recomputed when the {@linkplain LogContext#getHandlersVersion() handlers version} of the context no
+     * longer matches.
+     */
+    private volatile EffectiveHandlers effectiveHandlers;
+
     /**
      * The filter for this logger instance.
      */
@@ -100,6 +117,12 @@ final class LoggerNode implements AutoCloseable {
      */
     private volatile boolean useParentFilter = false;
 
+    /**
+     * The filters a record must pass, starting with this logger's filter and followed by the filters of the parents
+     * while {@link #useParentFilter} is set. Only updated while holding the {@code treeLock}.
+     */
+    private volatile Filter[] filterChain = NO_FILTERS;
+
     /**
      * The set of phantom references to active loggers.
      */
@@ -131,6 +154,13 @@ final class LoggerNode implements AutoCloseable {
      */
     private final int effectiveMinLevel;
 
+    /**
+     * The switch point guarding the {@linkplain #createLevelCheck(int) level checks} linked against the current
+     * {@link #effectiveLevel}, or {@code null} if none have been linked since it last changed. Guarded by the
+     * {@code treeLock}.
+     */
+    private SwitchPoint levelSwitchPoint;
+
     /**
      * Construct a new root instance.
      *
@@ -237,9 +267,16 @@ final class LoggerNode implements AutoCloseable {
                 level = null;
                 effectiveLevel = parent.effectiveLevel;
             }
+            final SwitchPoint levelSwitchPoint = this.levelSwitchPoint;
+            if (levelSwitchPoint != null) {
+                this.levelSwitchPoint = null;
+                SwitchPoint.invalidateAll(new SwitchPoint[] { levelSwitchPoint });
+            }
             handlersUpdater.clear(this);
             useParentFilter = false;
+            updateFilterChain();
             useParentHandlers = true;
+            context.handlersChanged();
             attachmentHandle.setVolatile(this, Map.of());
             children.clear();
         } finally {
@@ -332,23 +369,51 @@ final class LoggerNode implements AutoCloseable {
      * Update the effective level if it is inherited from a parent. Must only be called while the logmanager's level
      * change lock is held.
      *
-     * @param newLevel the new effective level
+     * @param newLevel          the new effective level
+     * @param staleSwitchPoints the list to add the switch points of the level checks which must be invalidated to
      */
-    void setEffectiveLevel(int newLevel) {
+    void setEffectiveLevel(int newLevel, List<SwitchPoint> staleSwitchPoints) {
         if (level == null) {
             effectiveLevel = newLevel;
+            levelChanged(staleSwitchPoints);
             for (LoggerNode node : children.values()) {
                 if (node != null) {
-                    node.setEffectiveLevel(newLevel);
+                    node.setEffectiveLevel(newLevel, staleSwitchPoints);
                 }
             }
         }
     }
 
+    private void levelChanged(final List<SwitchPoint> staleSwitchPoints) {
+        final SwitchPoint levelSwitchPoint = this.levelSwitchPoint;
+        if (levelSwitchPoint != null) {
+            this.levelSwitchPoint = null;
+            staleSwitchPoints.add(levelSwitchPoint);
+        }
+    }
+
+    /**
+     * Create a level check for this node. The returned handle is linked to a constant result which is relinked
+     * whenever the effective level of this node changes.
+     *
+     * @param level the level to check
+     * @return a method handle of type {@code ()boolean}
+     */
+    MethodHandle createLevelCheck(final int level) {
+        return new LevelCheckSite(this, level).dynamicInvoker();
+    }
+
     void setFilter(final Filter filter) {
-        this.filter = filter;
-        if (filter != null) {
-            context.pin(this);
+        final ReentrantLock treeLock = context.treeLock;
+        treeLock.lock();
+        try {
+            this.filter = filter;
+            if (filter != null) {
+                context.pin(this);
+            }
+            updateFilterChain();
+        } finally {
+            treeLock.unlock();
         }
     }
 
@@ -361,9 +426,37 @@ final class LoggerNode implements AutoCloseable {
     }
 
     void setUseParentFilters(final boolean useParentFilter) {
-        this.useParentFilter = useParentFilter;
-        if (useParentFilter) {
-            context.pin(this);
+        final ReentrantLock treeLock = context.treeLock;
+        treeLock.lock();
+        try {
+            this.useParentFilter = useParentFilter;
+            if (useParentFilter) {
+                context.pin(this);
+            }
+            updateFilterChain();
+        } finally {
+            treeLock.unlock();
+        }
+    }
+
+    private void updateFilterChain() {
+        assert context.treeLock.isHeldByCurrentThread();
+        final Filter filter = this.filter;
+        final LoggerNode parent = this.parent;
+        final Filter[] parentChain = useParentFilter && parent != null ? parent.filterChain : NO_FILTERS;
+        if (filter == null) {
+            filterChain = parentChain;
+        } else {
+            final Filter[] chain = new Filter[parentChain.length + 1];
+            chain[0] = filter;
+            System.arraycopy(parentChain, 0, chain, 1, parentChain.length);
+            filterChain = chain;
+        }
+        // our chain changed, recurse down to children which include it
+        for (LoggerNode node : children.values()) {
+            if (node != null && node.useParentFilter) {
+                node.updateFilterChain();
+            }
         }
     }
 
@@ -393,17 +486,20 @@ final class LoggerNode implements AutoCloseable {
     Handler[] clearHandlers() {
         final Handler[] handlers = this.handlers;
         handlersUpdater.clear(this);
+        context.handlersChanged();
         return safeCloneHandlers(handlers);
     }
 
     void removeHandler(final Handler handler) {
         getHandlers();
         handlersUpdater.remove(this, handler, true);
+        context.handlersChanged();
     }
 
     void addHandler(final Handler handler) {
         getHandlers();
         handlersUpdater.add(this, handler);
+        context.handlersChanged();
         context.pin(this);
     }
 
@@ -411,11 +507,19 @@ final class LoggerNode implements AutoCloseable {
         if (handlers.length > 0) {
             context.pin(this);
         }
-        return handlersUpdater.getAndSet(this, handlers);
+        try {
+            return handlersUpdater.getAndSet(this, handlers);
+        } finally {
+            context.handlersChanged();
+        }
     }
 
     boolean compareAndSetHandlers(final Handler[] oldHandlers, final Handler[] newHandlers) {
-        return handlersUpdater.compareAndSet(this, oldHandlers, newHandlers);
+        if (handlersUpdater.compareAndSet(this, oldHandlers, newHandlers)) {
+            context.handlersChanged();
+            return true;
+        }
+        return false;
     }
 
     boolean getUseParentHandlers() {
@@ -424,6 +528,7 @@ final class LoggerNode implements AutoCloseable {
 
     void setUseParentHandlers(final boolean useParentHandlers) {
         this.useParentHandlers = useParentHandlers;
+        context.handlersChanged();
         if (!useParentHandlers) {
             context.pin(this);
         }
@@ -431,10 +536,14 @@ final class LoggerNode implements AutoCloseable {
 
     @SuppressWarnings("deprecation") // record#getFormattedMessage
     void publish(final ExtLogRecord record) {
+        final EffectiveHandlers effectiveHandlers = getEffectiveHandlers();
+        final Handler[] handlers = effectiveHandlers.handlers;
+        final boolean[] extHandlers = effectiveHandlers.extHandlers;
         LogRecord oldRecord = null;
-        for (Handler handler : getHandlers())
+        for (int i = 0; i < handlers.length; i++) {
+            final Handler handler = handlers[i];
             try {
-                if (handler instanceof ExtHandler || handler.getFormatter() instanceof ExtFormatter) {
+                if (extHandlers[i] || handler.getFormatter() instanceof ExtFormatter) {
                     handler.publish(record);
                 } else {
                     // old-style handlers generally don't know how to handle printf formatting
@@ -474,13 +583,29 @@ final class LoggerNode implements AutoCloseable {
                     }
                 }
             }
-        if (useParentHandlers) {
-            final LoggerNode parent = this.parent;
-            if (parent != null)
-                parent.publish(record);
         }
     }
 
+    private EffectiveHandlers getEffectiveHandlers() {
+        // read the version before the handlers so a concurrent change is picked up by the next call at the latest
+        final int version = context.getHandlersVersion();
+        EffectiveHandlers effectiveHandlers = this.effectiveHandlers;
+        if (effectiveHandlers == null || effectiveHandlers.version != version) {
+            Handler[] handlers = getHandlers();
+            LoggerNode node = this;
+            while (node.useParentHandlers && (node = node.parent) != null) {
+                final Handler[] parentHandlers = node.getHandlers();
+                if (parentHandlers.length > 0) {
+                    final Handler[] combined = Arrays.copyOf(handlers, handlers.length + parentHandlers.length);
+                    System.arraycopy(parentHandlers, 0, combined, handlers.length, parentHandlers.length);
+                    handlers = combined;
+                }
+            }
+            this.effectiveHandlers = effectiveHandlers = new EffectiveHandlers(version, handlers);
+        }
+        return effectiveHandlers;
+    }
+
     void setLevel(final Level newLevel) {
         final ReentrantLock treeLock = context.treeLock;
         treeLock.lock();
@@ -503,12 +628,18 @@ final class LoggerNode implements AutoCloseable {
             }
             effectiveLevel = newEffectiveLevel;
             if (oldEffectiveLevel != newEffectiveLevel) {
+                final List<SwitchPoint> staleSwitchPoints = new ArrayList<>();
+                levelChanged(staleSwitchPoints);
                 // our level changed, recurse down to children
                 for (LoggerNode node : children.values()) {
                     if (node != null) {
-                        node.setEffectiveLevel(newEffectiveLevel);
+                        node.setEffectiveLevel(newEffectiveLevel, staleSwitchPoints);
                     }
                 }
+                if (!staleSwitchPoints.isEmpty()) {
+                    // invalidating them together deoptimizes the dependent code only once
+                    SwitchPoint.invalidateAll(staleSwitchPoints.toArray(new SwitchPoint[0]));
+                }
             }
         } finally {
             treeLock.unlock();
@@ -598,26 +729,79 @@ final class LoggerNode implements AutoCloseable {
      * @return {@code true} if the record is loggable, otherwise {@code false}
      */
     boolean isLoggable(final ExtLogRecord record) {
-        if (!useParentFilter) {
-            final Filter filter = this.filter;
-            return filter == null || filter.isLoggable(record);
+        for (Filter filter : filterChain) {
+            if (!filter.isLoggable(record)) {
+                return false;
+            }
         }
-        final ReentrantLock treeLock = context.treeLock;
-        treeLock.lock();
-        try {
-            return isLoggable(this, record);
-        } finally {
-            treeLock.unlock();
+        return true;
+    }
+
+    /**
+     * A call site answering whether a level is loggable by a node. Its target returns a constant guarded by the
+     * {@link #levelSwitchPoint} of the node; once that is invalidated, the next call relinks the site against the new
+     * effective level.
+     */
+    private static final class LevelCheckSite extends MutableCallSite {
+        private static final MethodHandle RELINK;
+
+        static {
+            try {
+                RELINK = MethodHandles.lookup().findVirtual(LevelCheckSite.class, "relink",
+                        MethodType.methodType(boolean.class));
+            } catch (NoSuchMethodException | IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private final LoggerNode node;
+        private final int level;
+
+        LevelCheckSite(final LoggerNode node, final int level) {
+            super(MethodType.methodType(boolean.class));
+            this.node = node;
+            this.level = level;
+            relink();
+        }
+
+        boolean relink() {
+            final ReentrantLock treeLock = node.context.treeLock;
+            treeLock.lock();
+            try {
+                SwitchPoint levelSwitchPoint = node.levelSwitchPoint;
+                if (levelSwitchPoint == null) {
+                    node.levelSwitchPoint = levelSwitchPoint = new SwitchPoint();
+                }
+                final boolean loggable = node.isLoggableLevel(level);
+                setTarget(levelSwitchPoint.guardWithTest(MethodHandles.constant(boolean.class, loggable),
+                        RELINK.bindTo(this)));
+                return loggable;
+            } finally {
+                treeLock.unlock();
+            }
         }
     }
 
-    private static boolean isLoggable(final LoggerNode loggerNode, final ExtLogRecord record) {
-        if (loggerNode == null) {
-            return true;
+    /**
+     * The handlers a record published to a logger is passed to, in order.
+     */
+    private static final class EffectiveHandlers {
+        final int version;
+        final Handler[] handlers;
+        /**
+         * Whether the handler at the same index is an {@link ExtHandler}. Other handlers are only passed the record
+         * as is if their current formatter is an {@link ExtFormatter}.
+         */
+        final boolean[] extHandlers;
+
+        EffectiveHandlers(final int version, final Handler[] handlers) {
+            this.version = version;
+            this.handlers = handlers;
+            extHandlers = new boolean[handlers.length];
+            for (int i = 0; i < handlers.length; i++) {
+                extHandlers[i] = handlers[i] instanceof ExtHandler;
+            }
         }
-        final Filter filter = loggerNode.filter;
-        return !(filter != null && !filter.isLoggable(record))
-                && (!loggerNode.useParentFilter || isLoggable(loggerNode.getParent(), record));
     }
 
     Enumeration<String> getLoggerNames() {
@@ -0,0 +1,273 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.logmanager;
+
+import java.text.DateFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.MessageFormat;
+import java.text.NumberFormat;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Formattable;
+import java.util.Locale;
+
+/**
+ * Message formatting which parses each message template only once. Templates are remembered by identity in a small
+ * direct-mapped cache, since log messages are almost always string constants.
+ * <p>
+ * Only templates made of literal text and plain substitutions, {@code {n}} for {@link MessageFormat} and {@code %s},
+ * {@code %d}, {@code %%} and {@code %n} for {@link String#format(String, Object...)}, are rendered directly. Any other
+ * template, or any argument which could render differently, is passed to the original formatter, so the result is
+ * always the same as that of the original formatter.
+ * </p>
+ */
+final class MessageTemplates {
+    private static final int CACHE_SIZE = 1024;
+
+    /**
+     * The template of a message which must be formatted by the original formatter.
+     */
+    private static final Template UNSUPPORTED = new Template(null, null, null, 0);
+
+    private static final Entry[] messageFormatCache = new Entry[CACHE_SIZE];
+    private static final Entry[] printfCache = new Entry[CACHE_SIZE];
+
+    private static volatile LocaleDigits localeDigits = new LocaleDigits(null, false);
+
+    private MessageTemplates() {
+    }
+
+    /**
+     * Format a message in the style of {@link MessageFormat#format(String, Object...)}.
+     *
+     * @param pattern    the message pattern
+     * @param parameters the message parameters
+     * @return the formatted message
+     */
+    static String formatMessageFormat(final String pattern, final Object[] parameters) {
+        final Template template = lookup(messageFormatCache, pattern, false);
+        if (template == UNSUPPORTED || parameters == null) {
+            return MessageFormat.format(pattern, parameters);
+        }
+        final String[] literals = template.literals;
+        final int[] arguments = template.arguments;
+        final Locale locale = Locale.getDefault(Locale.Category.FORMAT);
+        final StringBuilder builder = new StringBuilder(template.length + (arguments.length << 4));
+        for (int i = 0; i < arguments.length; i++) {
+            builder.append(literals[i]);
+            final int argument = arguments[i];
+            if (argument >= parameters.length) {
+                builder.append('{').append(argument).append('}');
+                continue;
+            }
+            final Object parameter = parameters[argument];
+            if (parameter == null) {
+                builder.append("null");
+            } else if (parameter instanceof Number) {
+                builder.append(NumberFormat.getInstance(locale).format(parameter));
+            } else if (parameter instanceof Date) {
+                builder.append(DateFormat.getDateTimeInstance(DateFormat.SHORT, DateFormat.SHORT, locale).format(parameter));
+            } else {
+                final String string = parameter.toString();
+                builder.append(string == null ? "null" : string);
+            }
+        }
+        return builder.append(literals[arguments.length]).toString();
+    }
+
+    /**
+     * Format a message in the style of {@link String#format(String, Object...)}.
+     *
+     * @param format     the message format
+     * @param parameters the message parameters
+     * @return the formatted message
+     */
+    static String formatPrintf(final String format, final Object[] parameters) {
+        final Template template = lookup(printfCache, format, true);
+        if (template == UNSUPPORTED || parameters == null || template.arguments.length > parameters.length) {
+            return String.format(format, parameters);
+        }
+        final String[] literals = template.literals;
+        final char[] conversions = template.conversions;
+        final StringBuilder builder = new StringBuilder(template.length + (conversions.length << 4));
+        for (int i = 0; i < conversions.length; i++) {
+            builder.append(literals[i]);
+            final Object parameter = parameters[i];
+            if (conversions[i] == 's') {
+                if (parameter instanceof Formattable) {
+                    return String.format(format, parameters);
+                }
+                builder.append(parameter);
+            } else if (parameter == null) {
+                builder.append("null");
+            } else if ((parameter instanceof Integer || parameter instanceof Long || parameter instanceof Short
+                    || parameter instanceof Byte) && hasAsciiDigits(Locale.getDefault(Locale.Category.FORMAT))) {
+                builder.append(((Number) parameter).longValue());
+            } else {
+                return String.format(format, parameters);
+            }
+        }
+        return builder.append(literals[conversions.length]).toString();
+    }
+
+    private static boolean hasAsciiDigits(final Locale locale) {
+        LocaleDigits localeDigits = MessageTemplates.localeDigits;
+        if (!locale.equals(localeDigits.locale)) {
+            MessageTemplates.localeDigits = localeDigits = new LocaleDigits(locale,
+                    DecimalFormatSymbols.getInstance(locale).getZeroDigit() == '0');
+        }
+        return localeDigits.ascii;
+    }
+
+    private static Template lookup(final Entry[] cache, final String key, final boolean printf) {
+        final int index = System.identityHashCode(key) & (CACHE_SIZE - 1);
+        Entry entry = cache[index];
+        if (entry == null || entry.key != key) {
+            // a racing thread may compile the same template, which is harmless
+            entry = new Entry(key, printf ? compilePrintf(key) : compileMessageFormat(key));
+            cache[index] = entry;
+        }
+        return entry.template;
+    }
+
+    private static Template compileMessageFormat(final String pattern) {
+        final int length = pattern.length();
+        if (pattern.indexOf('\'') >= 0) {
+            // quoting changes the meaning of the surrounding text
+            return UNSUPPORTED;
+        }
+        final TemplateBuilder builder = new TemplateBuilder();
+        int start = 0;
+        int i;
+        while ((i = pattern.indexOf('{', start)) >= 0) {
+            int end = i + 1;
+            int argument = 0;
+            while (end < length && end - i <= 4 && isAsciiDigit(pattern.charAt(end))) {
+                argument = argument * 10 + pattern.charAt(end++) - '0';
+            }
+            if (end == i + 1 || end == length || pattern.charAt(end) != '}') {
+                // empty, too large, unterminated, or has a format type or style
+                return UNSUPPORTED;
+            }
+            builder.add(pattern.substring(start, i), argument, 's');
+            start = end + 1;
+        }
+        return builder.build(pattern.substring(start));
+    }
+
+    private static Template compilePrintf(final String format) {
+        final int length = format.length();
+        final TemplateBuilder builder = new TemplateBuilder();
+        final StringBuilder literal = new StringBuilder();
+        int argument = 0;
+        int start = 0;
+        int i;
+        while ((i = format.indexOf('%', start)) >= 0) {
+            literal.append(format, start, i);
+            if (i + 1 == length) {
+                return UNSUPPORTED;
+            }
+            final char conversion = format.charAt(i + 1);
+            switch (conversion) {
+                case '%':
+                    literal.append('%');
+                    break;
+                case 'n':
+                    literal.append(System.lineSeparator());
+                    break;
+                case 's':
+                case 'd':
+                    builder.add(literal.toString(), argument++, conversion);
+                    literal.setLength(0);
+                    break;
+                default:
+                    // flags, widths, indexes and other conversions
+                    return UNSUPPORTED;
+            }
+            start = i + 2;
+        }
+        return builder.build(literal.append(format, start, length).toString());
+    }
+
+    private static boolean isAsciiDigit(final char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    static final class Template {
+        // one more literal than there are arguments
+        final String[] literals;
+        final int[] arguments;
+        final char[] conversions;
+        final int length;
+
+        Template(final String[] literals, final int[] arguments, final char[] conversions, final int length) {
+            this.literals = literals;
+            this.arguments = arguments;
+            this.conversions = conversions;
+            this.length = length;
+        }
+    }
+
+    static final class TemplateBuilder {
+        private String[] literals = new String[4];
+        private int[] arguments = new int[3];
+        private char[] conversions = new char[3];
+        private int count;
+        private int length;
+
+        void add(final String literal, final int argument, final char conversion) {
+            if (count == arguments.length) {
+                arguments = Arrays.copyOf(arguments, count << 1);
+                conversions = Arrays.copyOf(conversions, count << 1);
+                literals = Arrays.copyOf(literals, (count << 1) + 1);
+            }
+            literals[count] = literal;
+            arguments[count] = argument;
+            conversions[count++] = conversion;
+            length += literal.length();
+        }
+
+        Template build(final String literal) {
+            literals[count] = literal;
+            return new Template(Arrays.copyOf(literals, count + 1), Arrays.copyOf(arguments, count),
+                    Arrays.copyOf(conversions, count), length + literal.length());
+        }
+    }
+
+    static final class Entry {
+        final String key;
+        final Template template;
+
+        Entry(final String key, final Template template) {
+            this.key = key;
+            this.template = template;
+        }
+    }
+
+    static final class LocaleDigits {
+        final Locale locale;
+        final boolean ascii;
+
+        LocaleDigits(final Locale locale, final boolean ascii) {
+            this.locale = locale;
+            this.ascii = ascii;
+        }
+    }
+}
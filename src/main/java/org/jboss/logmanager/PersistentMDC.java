@@ -0,0 +1,53 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.logmanager;
+
+/**
+ * An MDC provider which stores an immutable map per thread. Each change replaces the map with a new version that shares
+ * the unchanged entries with the previous one, so log records take a snapshot of the MDC by keeping a reference to the
+ * current version, and child threads inherit the map of their parent without copying it.
+ * <p>
+ * To use this provider, name this class in a {@code META-INF/services/org.jboss.logmanager.MDCProvider} file.
+ * </p>
+ */
+public final class PersistentMDC extends TrieMDCProvider {
+    private static final InheritableThreadLocal<HashTrieMap<String, Object>> mdc = new InheritableThreadLocal<>() {
+        @Override
+        protected HashTrieMap<String, Object> initialValue() {
+            return HashTrieMap.empty();
+        }
+    };
+
+    /**
+     * Construct a new instance.
+     */
+    public PersistentMDC() {
+    }
+
+    @Override
+    HashTrieMap<String, Object> getMap() {
+        return mdc.get();
+    }
+
+    @Override
+    void setMap(final HashTrieMap<String, Object> map) {
+        mdc.set(map);
+    }
+}
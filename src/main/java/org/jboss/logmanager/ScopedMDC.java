@@ -0,0 +1,113 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.logmanager;
+
+import java.util.concurrent.Callable;
+
+/**
+ * An MDC provider for applications which run many short-lived threads, such as virtual threads. The MDC of each
+ * thread is an immutable map which is neither created nor copied for a thread until the thread changes it; new threads
+ * start with an empty MDC rather than a copy of their parent's. Context is instead passed on explicitly, by
+ * {@linkplain #wrap(Runnable) wrapping} a task, which binds the map of the submitting thread for the duration of the
+ * task without copying it.
+ * <p>
+ * The static methods of this class only affect the MDC when this class is the installed provider. To use this
+ * provider, name this class in a {@code META-INF/services/org.jboss.logmanager.MDCProvider} file.
+ * </p>
+ */
+public final class ScopedMDC extends TrieMDCProvider {
+    private static final ThreadLocal<HashTrieMap<String, Object>> mdc = new ThreadLocal<>();
+
+    /**
+     * Construct a new instance.
+     */
+    public ScopedMDC() {
+    }
+
+    @Override
+    HashTrieMap<String, Object> getMap() {
+        final HashTrieMap<String, Object> map = mdc.get();
+        return map == null ? HashTrieMap.empty() : map;
+    }
+
+    @Override
+    void setMap(final HashTrieMap<String, Object> map) {
+        mdc.set(map);
+    }
+
+    /**
+     * Run a task with the given MDC value bound. The previous MDC of the current thread is restored afterwards, even
+     * if the task changed it.
+     *
+     * @param key   the key
+     * @param value the value
+     * @param task  the task to run
+     */
+    public static void run(final String key, final Object value, final Runnable task) {
+        final HashTrieMap<String, Object> previous = mdc.get();
+        mdc.set((previous == null ? HashTrieMap.<String, Object> empty() : previous).with(key, value));
+        try {
+            task.run();
+        } finally {
+            mdc.set(previous);
+        }
+    }
+
+    /**
+     * Call a task with the given MDC value bound. The previous MDC of the current thread is restored afterwards, even
+     * if the task changed it.
+     *
+     * @param key   the key
+     * @param value the value
+     * @param task  the task to call
+     * @param <T>   the result type
+     * @return the result of the task
+     * @throws Exception if the task throws an exception
+     */
+    public static <T> T call(final String key, final Object value, final Callable<T> task) throws Exception {
+        final HashTrieMap<String, Object> previous = mdc.get();
+        mdc.set((previous == null ? HashTrieMap.<String, Object> empty() : previous).with(key, value));
+        try {
+            return task.call();
+        } finally {
+            mdc.set(previous);
+        }
+    }
+
+    /**
+     * Wrap a task so that it runs with the MDC of the current thread, as it is now. The MDC of the thread running the
+     * task is restored afterwards.
+     *
+     * @param task the task to wrap
+     * @return the wrapped task
+     */
+    public static Runnable wrap(final Runnable task) {
+        final HashTrieMap<String, Object> captured = mdc.get();
+        return () -> {
+            final HashTrieMap<String, Object> previous = mdc.get();
+            mdc.set(captured);
+            try {
+                task.run();
+            } finally {
+                mdc.set(previous);
+            }
+        };
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.logmanager;
+
+/**
+ * An NDC provider for applications which run many short-lived threads, such as virtual threads. The NDC of each
+ * thread is an immutable linked list of frames, so a thread which never pushes a value allocates nothing, a push is
+ * one small allocation, and the rendered form of each frame is computed once and shared by every record logged
+ * while it is on top. Context is passed on explicitly by {@linkplain #wrap(Runnable) wrapping} a task, without
+ * copying the stack.
+ * <p>
+ * The static methods of this class only affect the NDC when this class is the installed provider. To use this
+ * provider, name this class in a {@code META-INF/services/org.jboss.logmanager.NDCProvider} file.
+ * </p>
+ */
+public final class ScopedNDC implements NDCProvider {
+    private static final ThreadLocal<Frame> ndc = new ThreadLocal<>();
+
+    /**
+     * Construct a new instance.
+     */
+    public ScopedNDC() {
+    }
+
+    @Override
+    public int push(String context) {
+        final Frame top = ndc.get();
+        ndc.set(new Frame(top, context));
+        return top == null ? 0 : top.depth;
+    }
+
+    @Override
+    public String pop() {
+        final Frame top = ndc.get();
+        if (top == null) {
+            return "";
+        }
+        ndc.set(top.parent);
+        return top.value;
+    }
+
+    @Override
+    public void clear() {
+        if (ndc.get() != null) {
+            ndc.set(null);
+        }
+    }
+
+    @Override
+    public void trimTo(int size) {
+        Frame top = ndc.get();
+        if (top != null && top.depth > size) {
+            do {
+                top = top.parent;
+            } while (top != null && top.depth > size);
+            ndc.set(top);
+        }
+    }
+
+    @Override
+    public int getDepth() {
+        final Frame top = ndc.get();
+        return top == null ? 0 : top.depth;
+    }
+
+    @Override
+    public String get() {
+        final Frame top = ndc.get();
+        return top == null ? "" : top.toString();
+    }
+
+    @Override
+    public String get(int n) {
+        Frame top = ndc.get();
+        while (top != null && top.depth > n + 1) {
+            top = top.parent;
+        }
+        return top != null && top.depth == n + 1 ? top.value : null;
+    }
+
+    /**
+     * Run a task with the given value pushed on the NDC. The previous NDC of the current thread is restored
+     * afterwards, even if the task changed it.
+     *
+     * @param context the value to push
+     * @param task    the task to run
+     */
+    public static void run(final String context, final Runnable task) {
+        final Frame previous = ndc.get();
+        ndc.set(new Frame(previous, context));
+        try {
+            task.run();
+        } finally {
+            ndc.set(previous);
+        }
+    }
+
+    /**
+     * Wrap a task so that it runs with the NDC of the current thread, as it is now. The NDC of the thread running the
+     * task is restored afterwards.
+     *
+     * @param task the task to wrap
+     * @return the wrapped task
+     */
+    public static Runnable wrap(final Runnable task) {
+        final Frame captured = ndc.get();
+        return () -> {
+            final Frame previous = ndc.get();
+            ndc.set(captured);
+            try {
+                task.run();
+            } finally {
+                ndc.set(previous);
+            }
+        };
+    }
+
+    private static final class Frame {
+        final Frame parent;
+        final String value;
+        final int depth;
+        private String string;
+
+        Frame(final Frame parent, final String value) {
+            this.parent = parent;
+            this.value = value;
+            depth = parent == null ? 1 : parent.depth + 1;
+        }
+
+        public String toString() {
+            String string = this.string;
+            if (string == null) {
+                // frames are immutable, so a racing computation produces the same result
+                this.string = string = parent == null ? String.valueOf(value) : parent + "." + value;
+            }
+            return string;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.logmanager;
+
+import java.util.Map;
+
+/**
+ * The base of the MDC providers which store an immutable {@link HashTrieMap} for each thread. A change replaces the
+ * map of the thread with a new version, so a {@linkplain #snapshot() snapshot} is the current map itself.
+ */
+abstract class TrieMDCProvider implements MDCProvider {
+
+    /**
+     * Get the map of the current thread.
+     *
+     * @return the map, never {@code null}
+     */
+    abstract HashTrieMap<String, Object> getMap();
+
+    /**
+     * Replace the map of the current thread.
+     *
+     * @param map the new map, never {@code null}
+     */
+    abstract void setMap(HashTrieMap<String, Object> map);
+
+    @Override
+    public String get(String key) {
+        final Object value = getObject(key);
+        return value == null ? null : value.toString();
+    }
+
+    @Override
+    public Object getObject(String key) {
+        return getMap().get(key);
+    }
+
+    @Override
+    public String put(String key, String value) {
+        final Object oldValue = putObject(key, value);
+        return oldValue == null ? null : oldValue.toString();
+    }
+
+    @Override
+    public Object putObject(String key, Object value) {
+        if (key == null) {
+            throw new NullPointerException("key is null");
+        }
+        if (value == null) {
+            throw new NullPointerException("value is null");
+        }
+        final HashTrieMap<String, Object> map = getMap();
+        final Object oldValue = map.get(key);
+        setMap(map.with(key, value));
+        return oldValue;
+    }
+
+    @Override
+    public String remove(String key) {
+        final Object oldValue = removeObject(key);
+        return oldValue == null ? null : oldValue.toString();
+    }
+
+    @Override
+    public Object removeObject(String key) {
+        final HashTrieMap<String, Object> map = getMap();
+        final Object oldValue = map.get(key);
+        if (oldValue != null) {
+            setMap(map.without(key));
+        }
+        return oldValue;
+    }
+
+    @Override
+    public Map<String, String> copy() {
+        final HashTrieMap<String, Object> map = getMap();
+        final FastCopyHashMap<String, String> result = new FastCopyHashMap<>(map.size());
+        for (Map.Entry<String, Object> entry : map.entrySet()) {
+            result.put(entry.getKey(), entry.getValue().toString());
+        }
+        return result;
+    }
+
+    @Override
+    public Map<String, Object> copyObject() {
+        return new FastCopyHashMap<>(getMap());
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return getMap().isEmpty();
+    }
+
+    @Override
+    public void clear() {
+        setMap(HashTrieMap.empty());
+    }
+
+    /**
+     * Get the current MDC map of this thread. The returned map is immutable and is not affected by later changes to
+     * the MDC.
+     *
+     * @return the current map
+     */
+    final Map<String, Object> snapshot() {
+        return getMap();
+    }
+}
@@ -193,6 +193,7 @@ class WrappedExtLogRecord extends ExtLogRecord {
     }
 
     public void setParameters(final Object[] parameters) {
+        super.setParameters(parameters);
         orig.setParameters(parameters);
     }
 
@@ -0,0 +1,230 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.logmanager.formatters;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * A date and time formatter which renders each second only once. The text of the current second is kept and only the
+ * sub-second digits are patched in for each instant within it.
+ * <p>
+ * The layout of the sub-second digits is learned by rendering each new second at a few known nanosecond values. Two
+ * layouts are recognized: digits at fixed positions, such as {@code SSS}, and an optional fraction with trailing
+ * zeros removed, as used by {@link DateTimeFormatter#ISO_OFFSET_DATE_TIME}. Seconds for which neither layout reproduces
+ * the formatter output exactly are rendered by the formatter in full.
+ * </p>
+ */
+final class CachedDateTimeFormatter {
+    private static final int MAX_NANO = 999_999_999;
+    private static final int[] CHECK_NANOS = { 1, 120_450_000 };
+
+    private final DateTimeFormatter formatter;
+    private final ZoneId zone;
+    private volatile Second current;
+
+    CachedDateTimeFormatter(final DateTimeFormatter formatter, final ZoneId zone) {
+        this.formatter = formatter;
+        this.zone = zone;
+    }
+
+    /**
+     * Format the given instant.
+     *
+     * @param instant the instant to format
+     * @return the formatted instant
+     */
+    String format(final Instant instant) {
+        final StringBuilder builder = new StringBuilder(32);
+        formatTo(instant, builder);
+        return builder.toString();
+    }
+
+    /**
+     * Format the given instant to the given builder.
+     *
+     * @param instant the instant to format
+     * @param builder the builder to append to
+     */
+    void formatTo(final Instant instant, final StringBuilder builder) {
+        final long epochSecond = instant.getEpochSecond();
+        Second second = current;
+        if (second == null || second.epochSecond != epochSecond) {
+            current = second = learn(epochSecond);
+        }
+        second.formatTo(this, instant.getNano(), builder);
+    }
+
+    private void render(final long epochSecond, final int nano, final StringBuilder builder) {
+        formatter.formatTo(Instant.ofEpochSecond(epochSecond, nano).atZone(zone), builder);
+    }
+
+    private String render(final long epochSecond, final int nano) {
+        final StringBuilder builder = new StringBuilder(32);
+        render(epochSecond, nano, builder);
+        return builder.toString();
+    }
+
+    private Second learn(final long epochSecond) {
+        final String zero = render(epochSecond, 0);
+        final String max = render(epochSecond, MAX_NANO);
+        Second second;
+        if (zero.length() == max.length()) {
+            second = FixedDigits.of(epochSecond, zero, max);
+        } else {
+            second = OptionalFraction.of(epochSecond, zero, max);
+        }
+        if (second == null) {
+            return new Second(epochSecond);
+        }
+        final StringBuilder builder = new StringBuilder(max.length());
+        for (int nano : CHECK_NANOS) {
+            builder.setLength(0);
+            second.formatTo(this, nano, builder);
+            if (!render(epochSecond, nano).contentEquals(builder)) {
+                return new Second(epochSecond);
+            }
+        }
+        return second;
+    }
+
+    /**
+     * A second whose instants are rendered by the formatter in full.
+     */
+    static class Second {
+        final long epochSecond;
+
+        Second(final long epochSecond) {
+            this.epochSecond = epochSecond;
+        }
+
+        void formatTo(final CachedDateTimeFormatter formatter, final int nano, final StringBuilder builder) {
+            formatter.render(epochSecond, nano, builder);
+        }
+    }
+
+    /**
+     * A second whose sub-second digits are each rendered at a fixed position.
+     */
+    static final class FixedDigits extends Second {
+        private final String text;
+        private final int[] positions;
+        // the power of ten dividing the nanoseconds down to the digit at the matching position
+        private final int[] divisors;
+
+        private FixedDigits(final long epochSecond, final String text, final int[] positions, final int[] divisors) {
+            super(epochSecond);
+            this.text = text;
+            this.positions = positions;
+            this.divisors = divisors;
+        }
+
+        static FixedDigits of(final long epochSecond, final String zero, final String max) {
+            final int length = zero.length();
+            int count = 0;
+            for (int i = 0; i < length; i++) {
+                if (zero.charAt(i) != max.charAt(i)) {
+                    count++;
+                }
+            }
+            final int[] positions = new int[count];
+            final int[] divisors = new int[count];
+            int j = 0;
+            int divisor = 0;
+            for (int i = 0; i < length; i++) {
+                if (zero.charAt(i) != max.charAt(i)) {
+                    // each run of digits holds the leading digits of the nanoseconds
+                    divisor = divisor == 0 ? 100_000_000 : divisor / 10;
+                    if (divisor == 0) {
+                        return null;
+                    }
+                    positions[j] = i;
+                    divisors[j++] = divisor;
+                } else {
+                    divisor = 0;
+                }
+            }
+            return new FixedDigits(epochSecond, zero, positions, divisors);
+        }
+
+        void formatTo(final CachedDateTimeFormatter formatter, final int nano, final StringBuilder builder) {
+            final int start = builder.length();
+            final String text = this.text;
+            builder.append(text);
+            final int[] positions = this.positions;
+            final int[] divisors = this.divisors;
+            for (int i = 0; i < positions.length; i++) {
+                final int position = positions[i];
+                builder.setCharAt(start + position, (char) (text.charAt(position) + nano / divisors[i] % 10));
+            }
+        }
+    }
+
+    /**
+     * A second whose sub-second digits are rendered as a fraction with trailing zeros removed, which is omitted when
+     * the instant falls on the second.
+     */
+    static final class OptionalFraction extends Second {
+        private final String text;
+        private final int index;
+
+        private OptionalFraction(final long epochSecond, final String text, final int index) {
+            super(epochSecond);
+            this.text = text;
+            this.index = index;
+        }
+
+        static OptionalFraction of(final long epochSecond, final String zero, final String max) {
+            final int index = commonPrefixLength(zero, max);
+            if (!max.startsWith(".999999999", index) || !max.endsWith(zero.substring(index))
+                    || max.length() != zero.length() + 10) {
+                return null;
+            }
+            return new OptionalFraction(epochSecond, zero, index);
+        }
+
+        private static int commonPrefixLength(final String a, final String b) {
+            final int length = Math.min(a.length(), b.length());
+            int i = 0;
+            while (i < length && a.charAt(i) == b.charAt(i)) {
+                i++;
+            }
+            return i;
+        }
+
+        void formatTo(final CachedDateTimeFormatter formatter, final int nano, final StringBuilder builder) {
+            final String text = this.text;
+            if (nano == 0) {
+                builder.append(text);
+                return;
+            }
+            builder.append(text, 0, index).append('.');
+            int digits = 9;
+            for (int rest = nano; rest % 10 == 0; rest /= 10) {
+                digits--;
+            }
+            for (int i = 0, divisor = 100_000_000; i < digits; i++, divisor /= 10) {
+                builder.append((char) ('0' + nano / divisor % 10));
+            }
+            builder.append(text, index, text.length());
+        }
+    }
+}
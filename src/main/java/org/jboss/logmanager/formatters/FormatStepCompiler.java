@@ -0,0 +1,97 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.logmanager.formatters;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.logging.Formatter;
+
+import org.jboss.logmanager.ExtLogRecord;
+
+/**
+ * Compiles a sequence of format steps into a single method handle of type
+ * {@code (Formatter, StringBuilder, ExtLogRecord)void}.
+ * <p>
+ * Each step is bound into the handle as a constant, adjacent literal text is merged into a single append, and steps
+ * which have no width restriction bypass justification entirely. Once a compiled handle has been invoked often enough,
+ * the JVM customizes it into code which is specific to its steps, so each step is called monomorphically rather than
+ * through the shared call site of the step loop.
+ * </p>
+ */
+final class FormatStepCompiler {
+
+    private static final MethodType RENDER_TYPE = MethodType.methodType(void.class, Formatter.class, StringBuilder.class,
+            ExtLogRecord.class);
+
+    private static final MethodHandle RENDER;
+    private static final MethodHandle RENDER_RAW;
+    private static final MethodHandle APPEND;
+
+    static {
+        final MethodHandles.Lookup lookup = MethodHandles.lookup();
+        try {
+            RENDER = lookup.findVirtual(FormatStep.class, "render", RENDER_TYPE);
+            RENDER_RAW = lookup.findVirtual(Formatters.JustifyingFormatStep.class, "renderRaw", RENDER_TYPE);
+            APPEND = lookup.findVirtual(StringBuilder.class, "append",
+                    MethodType.methodType(StringBuilder.class, String.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private FormatStepCompiler() {
+    }
+
+    /**
+     * Compile the given steps.
+     *
+     * @param steps the steps to compile
+     * @return the method handle which renders all of the steps in order
+     */
+    static MethodHandle compile(final FormatStep[] steps) {
+        MethodHandle handle = MethodHandles.empty(RENDER_TYPE);
+        int i = steps.length;
+        while (i > 0) {
+            final FormatStep step = steps[--i];
+            if (step instanceof Formatters.TextFormatStep) {
+                // merge the preceding run of literal text
+                final StringBuilder text = new StringBuilder(((Formatters.TextFormatStep) step).getText());
+                while (i > 0 && steps[i - 1] instanceof Formatters.TextFormatStep) {
+                    text.insert(0, ((Formatters.TextFormatStep) steps[--i]).getText());
+                }
+                handle = MethodHandles.foldArguments(handle, append(text.toString()));
+            } else if (step instanceof Formatters.JustifyingFormatStep
+                    && !((Formatters.JustifyingFormatStep) step).isJustified()) {
+                handle = MethodHandles.foldArguments(handle, RENDER_RAW.bindTo(step));
+            } else {
+                handle = MethodHandles.foldArguments(handle, RENDER.bindTo(step));
+            }
+        }
+        return handle;
+    }
+
+    private static MethodHandle append(final String text) {
+        final MethodHandle append = MethodHandles.insertArguments(APPEND, 1, text)
+                .asType(MethodType.methodType(void.class, StringBuilder.class));
+        return MethodHandles.dropArguments(MethodHandles.dropArguments(append, 0, Formatter.class), 2,
+                ExtLogRecord.class);
+    }
+}
@@ -36,6 +36,7 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.TimeZone;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Formatter;
 import java.util.logging.Level;
 import java.util.logging.LogRecord;
@@ -55,6 +56,10 @@ public final class Formatters {
     private static final boolean DEFAULT_TRUNCATE_BEGINNING = false;
     private static final String NEW_LINE = String.format("%n");
     private static final Pattern PRECISION_INT_PATTERN = Pattern.compile("\\d+");
+    /**
+     * The key of a stack trace rendered by {@link Throwable#printStackTrace(PrintWriter)}.
+     */
+    private static final Object PRINTED_STACK_TRACE = new Object();
 
     private Formatters() {
     }
@@ -81,19 +86,31 @@ public final class Formatters {
      * @return a format step
      */
     public static FormatStep textFormatStep(final String string) {
-        return new FormatStep() {
-            public void render(final StringBuilder builder, final ExtLogRecord record) {
-                builder.append(string);
-            }
+        return new TextFormatStep(string);
+    }
 
-            public int estimateLength() {
-                return string.length();
-            }
+    static final class TextFormatStep implements FormatStep {
+        private final String text;
 
-            public ItemType getItemType() {
-                return ItemType.TEXT;
-            }
-        };
+        TextFormatStep(final String text) {
+            this.text = text;
+        }
+
+        public void render(final StringBuilder builder, final ExtLogRecord record) {
+            builder.append(text);
+        }
+
+        public int estimateLength() {
+            return text.length();
+        }
+
+        public ItemType getItemType() {
+            return ItemType.TEXT;
+        }
+
+        String getText() {
+            return text;
+        }
     }
 
     /**
@@ -118,27 +135,18 @@ public final class Formatters {
     }
 
     /**
-     * Apply up to {@code precision} trailing segments of the given string to the given {@code builder}. If the
-     * precision contains non-integer values
+     * Abbreviate the segments of the given string according to the segments parsed from a precision which contains
+     * non-integer values.
      *
-     * @param precision the precision used to
-     * @param subject   the subject string
+     * @param segments the segments parsed from the precision
+     * @param subject  the subject string
      *
-     * @return the substring
+     * @return the abbreviated string
      */
-    private static String applySegments(final String precision, final String subject) {
-        if (precision == null || subject == null) {
-            return subject;
-        }
-
-        // Check for dots
-        if (PRECISION_INT_PATTERN.matcher(precision).matches()) {
-            return applySegments(Integer.parseInt(precision), subject);
-        }
+    private static String applySegments(final Map<Integer, Segment> segments, final String subject) {
         // %c{1.} would be o.j.l.f.FormatStringParser
         // %c{1.~} would be o.~.~.~.FormatStringParser
         // %c{.} ....FormatStringParser
-        final Map<Integer, Segment> segments = parsePatternSegments(precision);
         final Deque<String> categorySegments = parseCategorySegments(subject);
         final StringBuilder result = new StringBuilder();
         Segment segment = null;
@@ -173,11 +181,12 @@ public final class Formatters {
         return result.toString();
     }
 
-    private abstract static class JustifyingFormatStep implements FormatStep {
+    abstract static class JustifyingFormatStep implements FormatStep {
         private final boolean leftJustify;
         private final boolean truncateBeginning;
         private final int minimumWidth;
         private final int maximumWidth;
+        private final boolean justified;
 
         protected JustifyingFormatStep(final boolean leftJustify, final int minimumWidth, final boolean truncateBeginning,
                 final int maximumWidth) {
@@ -192,6 +201,7 @@ public final class Formatters {
             this.truncateBeginning = truncateBeginning;
             this.minimumWidth = minimumWidth;
             this.maximumWidth = maximumWidth == 0 ? Integer.MAX_VALUE : maximumWidth;
+            justified = minimumWidth != 0 || maximumWidth != 0;
         }
 
         public void render(final StringBuilder builder, final ExtLogRecord record) {
@@ -199,6 +209,11 @@ public final class Formatters {
         }
 
         public void render(Formatter formatter, StringBuilder builder, ExtLogRecord record) {
+            if (!justified) {
+                // neither padding nor truncation can apply
+                renderRaw(formatter, builder, record);
+                return;
+            }
             final int minimumWidth = this.minimumWidth;
             final int maximumWidth = this.maximumWidth;
             final boolean leftJustify = this.leftJustify;
@@ -254,32 +269,76 @@ public final class Formatters {
         }
 
         public abstract void renderRaw(Formatter formatter, final StringBuilder builder, final ExtLogRecord record);
+
+        /**
+         * Determine whether this step pads or truncates its output.
+         *
+         * @return {@code true} if a minimum or maximum width was given, {@code false} otherwise
+         */
+        boolean isJustified() {
+            return justified;
+        }
     }
 
     private abstract static class SegmentedFormatStep extends JustifyingFormatStep {
+        /**
+         * The maximum number of abbreviated subjects remembered by each step.
+         */
+        private static final int MAX_ABBREVIATIONS = 1024;
+
         private final int count;
-        private final String precision;
+        private final Map<Integer, Segment> segments;
+        // subject to abbreviated subject, or null if the subjects of this step are not worth remembering
+        private final ConcurrentHashMap<String, String> abbreviations;
 
         protected SegmentedFormatStep(final boolean leftJustify, final int minimumWidth, final boolean truncateBeginning,
                 final int maximumWidth, final int count) {
             super(leftJustify, minimumWidth, truncateBeginning, maximumWidth);
             this.count = count;
-            precision = null;
+            segments = null;
+            abbreviations = null;
         }
 
         protected SegmentedFormatStep(final boolean leftJustify, final int minimumWidth, final boolean truncateBeginning,
                 final int maximumWidth, final String precision) {
             super(leftJustify, minimumWidth, truncateBeginning, maximumWidth);
-            this.count = 0;
-            this.precision = precision;
+            if (precision == null) {
+                count = 0;
+                segments = null;
+                abbreviations = null;
+            } else {
+                // the subjects are names, of which there are few, so remember their abbreviations
+                if (PRECISION_INT_PATTERN.matcher(precision).matches()) {
+                    count = Integer.parseInt(precision);
+                    segments = null;
+                } else {
+                    count = 0;
+                    segments = parsePatternSegments(precision);
+                }
+                abbreviations = new ConcurrentHashMap<>();
+            }
         }
 
         public void renderRaw(Formatter formatter, final StringBuilder builder, final ExtLogRecord record) {
-            if (precision == null) {
-                builder.append(applySegments(count, getSegmentedSubject(record)));
-            } else {
-                builder.append(applySegments(precision, getSegmentedSubject(record)));
+            builder.append(abbreviate(getSegmentedSubject(record)));
+        }
+
+        private String abbreviate(final String subject) {
+            final ConcurrentHashMap<String, String> abbreviations = this.abbreviations;
+            if (abbreviations == null) {
+                return applySegments(count, subject);
             }
+            if (subject == null) {
+                return null;
+            }
+            String abbreviated = abbreviations.get(subject);
+            if (abbreviated == null) {
+                abbreviated = segments == null ? applySegments(count, subject) : applySegments(segments, subject);
+                if (abbreviations.size() < MAX_ABBREVIATIONS) {
+                    abbreviations.putIfAbsent(subject, abbreviated);
+                }
+            }
+            return abbreviated;
         }
 
         public abstract String getSegmentedSubject(final ExtLogRecord record);
@@ -477,15 +536,16 @@ public final class Formatters {
             final int minimumWidth,
             final boolean truncateBeginning, final int maximumWidth) {
         return new JustifyingFormatStep(leftJustify, minimumWidth, truncateBeginning, maximumWidth) {
-            final DateTimeFormatter dtf = DateTimeFormatter
-                    .ofPattern(formatString == null ? "yyyy-MM-dd HH:mm:ss,SSS" : formatString);
+            final CachedDateTimeFormatter dtf = new CachedDateTimeFormatter(
+                    DateTimeFormatter.ofPattern(formatString == null ? "yyyy-MM-dd HH:mm:ss,SSS" : formatString),
+                    timeZone.toZoneId());
 
             public ItemType getItemType() {
                 return ItemType.DATE;
             }
 
             public void renderRaw(Formatter formatter, final StringBuilder builder, final ExtLogRecord record) {
-                dtf.formatTo(record.getInstant().atZone(timeZone.toZoneId()), builder);
+                dtf.formatTo(record.getInstant(), builder);
             }
         };
     }
@@ -784,8 +844,7 @@ public final class Formatters {
                 builder.append(formatted);
                 final Throwable t = record.getThrown();
                 if (t != null) {
-                    builder.append(": ");
-                    t.printStackTrace(new PrintWriter(new StringBuilderWriter(builder)));
+                    builder.append(": ").append(record.getRenderedStackTrace(PRINTED_STACK_TRACE, Formatters::printStackTrace));
                 }
             }
 
@@ -920,9 +979,8 @@ public final class Formatters {
     }
 
     private static void doExceptionFormatStep(final StringBuilder builder, final ExtLogRecord record, final String argument,
-            final boolean extended) {
-        final Throwable t = record.getThrown();
-        if (t != null) {
+            @SuppressWarnings("unused") final boolean extended) {
+        if (record.getThrown() != null) {
             int depth = -1;
             if (argument != null) {
                 try {
@@ -930,10 +988,16 @@ public final class Formatters {
                 } catch (NumberFormatException ignore) {
                 }
             }
-            StackTraceFormatter.renderStackTrace(builder, t, extended, depth);
+            builder.append(StackTraceFormatter.renderStackTrace(record, depth));
         }
     }
 
+    private static String printStackTrace(final Throwable t) {
+        final StringBuilder builder = new StringBuilder();
+        t.printStackTrace(new PrintWriter(new StringBuilderWriter(builder)));
+        return builder.toString();
+    }
+
     /**
      * Create a format step which emits the log message resource key (if any) with the given justification rules.
      *
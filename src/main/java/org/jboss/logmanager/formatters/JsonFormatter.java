@@ -19,9 +19,11 @@
 
 package org.jboss.logmanager.formatters;
 
+import java.io.IOException;
 import java.io.Writer;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -48,22 +50,50 @@ import org.jboss.logmanager.PropertyValues;
  * <li>{@link org.jboss.logmanager.ExtLogRecord#getSourceModuleName() source module name}</li>
  * <li>{@link org.jboss.logmanager.ExtLogRecord#getSourceModuleVersion() source module version}</li>
  * </ul>
+ * <p>
+ * Compact output is written by a built-in generator and does not require a {@code jakarta.json} implementation.
+ * {@linkplain #setPrettyPrint(boolean) Pretty printing} is delegated to the {@code jakarta.json} API, which must be
+ * available to enable it.
+ * </p>
  *
  * @author <a href="mailto:jperkins@redhat.com">James R. Perkins</a>
  */
 @SuppressWarnings({ "unused", "WeakerAccess" })
 public class JsonFormatter extends StructuredFormatter {
 
+    private static final boolean JSON_API_AVAILABLE = isJsonApiAvailable();
+
+    /**
+     * Escape sequences for the characters which must be escaped in a JSON string, indexed by character.
+     */
+    private static final String[] ESCAPES = new String[0x5d];
+
+    static {
+        for (int c = 0; c < 0x20; c++) {
+            final String hex = "000" + Integer.toHexString(c);
+            ESCAPES[c] = "\\u" + hex.substring(hex.length() - 4);
+        }
+        ESCAPES['"'] = "\\\"";
+        ESCAPES['\\'] = "\\\\";
+        ESCAPES['\b'] = "\\b";
+        ESCAPES['\f'] = "\\f";
+        ESCAPES['\n'] = "\\n";
+        ESCAPES['\r'] = "\\r";
+        ESCAPES['\t'] = "\\t";
+    }
+
     private final Map<String, Object> config;
+    private final Map<String, String> quotedKeys;
 
-    private JsonGeneratorFactory factory;
+    // Guarded by config
+    private Object factory;
 
     /**
      * Creates a new JSON formatter.
      */
     public JsonFormatter() {
         config = new HashMap<>();
-        factory = Json.createGeneratorFactory(config);
+        quotedKeys = createQuotedKeys();
     }
 
     /**
@@ -76,7 +106,7 @@ public class JsonFormatter extends StructuredFormatter {
     public JsonFormatter(final String keyOverrides) {
         super(keyOverrides);
         config = new HashMap<>();
-        factory = Json.createGeneratorFactory(config);
+        quotedKeys = createQuotedKeys();
     }
 
     /**
@@ -87,7 +117,7 @@ public class JsonFormatter extends StructuredFormatter {
     public JsonFormatter(final Map<Key, String> keyOverrides) {
         super(keyOverrides);
         config = new HashMap<>();
-        factory = Json.createGeneratorFactory(config);
+        quotedKeys = createQuotedKeys();
     }
 
     /**
@@ -97,35 +127,280 @@ public class JsonFormatter extends StructuredFormatter {
      */
     public boolean isPrettyPrint() {
         synchronized (config) {
-            return (config.containsKey(jakarta.json.stream.JsonGenerator.PRETTY_PRINTING)
-                    ? (Boolean) config.get(jakarta.json.stream.JsonGenerator.PRETTY_PRINTING)
+            return (config.containsKey(JsonGenerator.PRETTY_PRINTING)
+                    ? (Boolean) config.get(JsonGenerator.PRETTY_PRINTING)
                     : false);
         }
     }
 
     /**
-     * Turns on or off pretty printing.
+     * Turns on or off pretty printing. Pretty printing requires a {@code jakarta.json} implementation.
      *
      * @param prettyPrint {@code true} to turn on pretty printing or {@code false} to turn it off
+     *
+     * @throws IllegalStateException if pretty printing is turned on and no {@code jakarta.json} implementation is
+     *                               available
      */
     public void setPrettyPrint(final boolean prettyPrint) {
+        if (prettyPrint && !JSON_API_AVAILABLE) {
+            throw new IllegalStateException("Pretty printing requires the jakarta.json API and an implementation");
+        }
         synchronized (config) {
             if (prettyPrint) {
                 config.put(JsonGenerator.PRETTY_PRINTING, true);
+                factory = JakartaJson.createFactory(config);
             } else {
                 config.remove(JsonGenerator.PRETTY_PRINTING);
+                factory = null;
             }
-            factory = Json.createGeneratorFactory(config);
         }
     }
 
     @Override
     protected Generator createGenerator(final Writer writer) {
-        final JsonGeneratorFactory factory;
+        final Object factory;
         synchronized (config) {
             factory = this.factory;
         }
-        return new FormatterJsonGenerator(factory.createGenerator(writer));
+        if (factory == null) {
+            return new CompactJsonGenerator(writer, quotedKeys);
+        }
+        return JakartaJson.createGenerator(factory, writer);
+    }
+
+    private Map<String, String> createQuotedKeys() {
+        final Map<String, String> quotedKeys = new HashMap<>();
+        final StringBuilder sb = new StringBuilder();
+        for (Key key : Key.values()) {
+            final String name = getKey(key);
+            if (name != null) {
+                sb.setLength(0);
+                appendEscaped(sb, name);
+                quotedKeys.put(name, sb.append(':').toString());
+            }
+        }
+        return quotedKeys;
+    }
+
+    private static void appendEscaped(final StringBuilder sb, final String value) {
+        sb.append('"');
+        final int len = value.length();
+        int start = 0;
+        for (int i = 0; i < len; i++) {
+            final char c = value.charAt(i);
+            if (c < ESCAPES.length && ESCAPES[c] != null) {
+                sb.append(value, start, i).append(ESCAPES[c]);
+                start = i + 1;
+            }
+        }
+        sb.append(value, start, len).append('"');
+    }
+
+    private static boolean isJsonApiAvailable() {
+        try {
+            Class.forName("jakarta.json.JsonValue", false, JsonFormatter.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError ignored) {
+            return false;
+        }
+    }
+
+    /**
+     * A generator which writes compact JSON directly to the writer. The output is identical to the compact output of
+     * the {@code jakarta.json} generator.
+     */
+    private static class CompactJsonGenerator implements Generator {
+        private final Writer writer;
+        private final Map<String, String> quotedKeys;
+        private boolean[] needsComma = new boolean[16];
+        private int depth;
+
+        private CompactJsonGenerator(final Writer writer, final Map<String, String> quotedKeys) {
+            this.writer = writer;
+            this.quotedKeys = quotedKeys;
+        }
+
+        @Override
+        public Generator begin() throws IOException {
+            writer.write('{');
+            push();
+            return this;
+        }
+
+        @Override
+        public Generator add(final String key, final int value) throws IOException {
+            writeKey(key);
+            writer.write(Integer.toString(value));
+            return this;
+        }
+
+        @Override
+        public Generator add(final String key, final long value) throws IOException {
+            writeKey(key);
+            writer.write(Long.toString(value));
+            return this;
+        }
+
+        @Override
+        public Generator add(final String key, final Map<String, ?> value) throws IOException {
+            writeKey(key);
+            writer.write('{');
+            push();
+            if (value != null) {
+                for (Map.Entry<String, ?> entry : value.entrySet()) {
+                    writeObject(entry.getKey(), entry.getValue());
+                }
+            }
+            pop();
+            writer.write('}');
+            return this;
+        }
+
+        @Override
+        public Generator add(final String key, final String value) throws IOException {
+            writeKey(key);
+            if (value == null) {
+                writer.write("null");
+            } else {
+                writeString(value);
+            }
+            return this;
+        }
+
+        @Override
+        public Generator startObject(final String key) throws IOException {
+            writeKey(key);
+            writer.write('{');
+            push();
+            return this;
+        }
+
+        @Override
+        public Generator endObject() throws IOException {
+            pop();
+            writer.write('}');
+            return this;
+        }
+
+        @Override
+        public Generator startArray(final String key) throws IOException {
+            writeKey(key);
+            writer.write('[');
+            push();
+            return this;
+        }
+
+        @Override
+        public Generator endArray() throws IOException {
+            pop();
+            writer.write(']');
+            return this;
+        }
+
+        @Override
+        public Generator end() throws IOException {
+            pop();
+            writer.write('}'); // end record
+            writer.flush();
+            return this;
+        }
+
+        private void push() {
+            if (++depth == needsComma.length) {
+                needsComma = Arrays.copyOf(needsComma, depth << 1);
+            }
+            needsComma[depth] = false;
+        }
+
+        private void pop() {
+            depth--;
+        }
+
+        private void writeKey(final String key) throws IOException {
+            if (needsComma[depth]) {
+                writer.write(',');
+            } else {
+                needsComma[depth] = true;
+            }
+            if (key != null) {
+                final String quoted = quotedKeys.get(key);
+                if (quoted == null) {
+                    writeString(key);
+                    writer.write(':');
+                } else {
+                    writer.write(quoted);
+                }
+            }
+        }
+
+        private void writeString(final String value) throws IOException {
+            final Writer writer = this.writer;
+            writer.write('"');
+            final int len = value.length();
+            int start = 0;
+            for (int i = 0; i < len; i++) {
+                final char c = value.charAt(i);
+                if (c < ESCAPES.length) {
+                    final String escape = ESCAPES[c];
+                    if (escape != null) {
+                        if (i > start) {
+                            writer.write(value, start, i - start);
+                        }
+                        writer.write(escape);
+                        start = i + 1;
+                    }
+                }
+            }
+            if (start < len) {
+                writer.write(value, start, len - start);
+            }
+            writer.write('"');
+        }
+
+        private void writeObject(final String key, final Object obj) throws IOException {
+            if (obj instanceof String) {
+                writeKey(key);
+                writeString((String) obj);
+            } else if (obj == null) {
+                writeKey(key);
+                writer.write("null");
+            } else if (obj instanceof Boolean || obj instanceof Integer || obj instanceof Long
+                    || obj instanceof BigInteger || obj instanceof BigDecimal) {
+                writeKey(key);
+                writer.write(obj.toString());
+            } else if (obj instanceof Double) {
+                final double value = (Double) obj;
+                if (Double.isInfinite(value) || Double.isNaN(value)) {
+                    throw new NumberFormatException("Non-finite double values are not allowed in JSON: " + value);
+                }
+                writeKey(key);
+                writer.write(obj.toString());
+            } else if (JSON_API_AVAILABLE && JakartaJson.isJsonValue(obj)) {
+                writeKey(key);
+                writer.write(obj.toString());
+            } else {
+                writeKey(key);
+                writeString(String.valueOf(obj));
+            }
+        }
+    }
+
+    /**
+     * Support for the {@code jakarta.json} API, isolated so the API is only loaded when it is used.
+     */
+    private static class JakartaJson {
+
+        static Object createFactory(final Map<String, Object> config) {
+            return Json.createGeneratorFactory(config);
+        }
+
+        static Generator createGenerator(final Object factory, final Writer writer) {
+            return new FormatterJsonGenerator(((JsonGeneratorFactory) factory).createGenerator(writer));
+        }
+
+        static boolean isJsonValue(final Object obj) {
+            return obj instanceof JsonValue;
+        }
     }
 
     private static class FormatterJsonGenerator implements Generator {
@@ -21,6 +21,9 @@ package org.jboss.logmanager.formatters;
 
 import static java.lang.Math.max;
 
+import java.lang.invoke.MethodHandle;
+import java.util.logging.Formatter;
+
 import org.jboss.logmanager.ExtFormatter;
 import org.jboss.logmanager.ExtLogRecord;
 
@@ -31,9 +34,22 @@ public class MultistepFormatter extends ExtFormatter {
     private volatile FormatStep[] steps;
     private volatile int builderLength;
     private volatile boolean callerCalculationRequired = false;
+    private volatile boolean compiled;
+    private volatile MethodHandle compiledSteps;
 
     private static final FormatStep[] EMPTY_STEPS = new FormatStep[0];
 
+    private static final ClassValue<Boolean> FORMAT_OVERRIDDEN = new ClassValue<Boolean>() {
+        protected Boolean computeValue(final Class<?> type) {
+            try {
+                return Boolean
+                        .valueOf(type.getMethod("format", ExtLogRecord.class).getDeclaringClass() != MultistepFormatter.class);
+            } catch (NoSuchMethodException e) {
+                return Boolean.TRUE;
+            }
+        }
+    };
+
     /**
      * Construct a new instance.
      *
@@ -55,6 +71,7 @@ public class MultistepFormatter extends ExtFormatter {
         }
         this.builderLength = max(32, builderLength);
         this.callerCalculationRequired = callerCalculatedRequired;
+        this.compiledSteps = compiled ? FormatStepCompiler.compile(steps) : null;
     }
 
     /**
@@ -83,13 +100,63 @@ public class MultistepFormatter extends ExtFormatter {
         calculateBuilderLength();
     }
 
+    /**
+     * Determine whether the format steps are compiled.
+     *
+     * @return {@code true} if the format steps are compiled, {@code false} if they are run one by one
+     */
+    public boolean isCompiled() {
+        return compiled;
+    }
+
+    /**
+     * Set whether the format steps should be compiled into a single method handle. A compiled formatter merges
+     * adjacent literal text, skips justification for steps without a width, and lets the JVM specialize the rendering
+     * code for this formatter's steps, at the cost of some memory and a slower warm-up. The output is the same either
+     * way.
+     *
+     * @param compiled {@code true} to compile the format steps, {@code false} to run them one by one
+     */
+    public void setCompiled(final boolean compiled) {
+        this.compiled = compiled;
+        calculateBuilderLength();
+    }
+
     /** {@inheritDoc} */
     public String format(final ExtLogRecord record) {
         final StringBuilder builder = new StringBuilder(builderLength);
+        renderSteps(builder, record);
+        return builder.toString();
+    }
+
+    /**
+     * {@inheritDoc} The steps are rendered directly into the target builder, unless a subclass has overridden
+     * {@link #format(ExtLogRecord)} in which case its result is appended.
+     */
+    public void formatTo(final StringBuilder target, final ExtLogRecord record) {
+        if (FORMAT_OVERRIDDEN.get(getClass()).booleanValue()) {
+            target.append(format(record));
+        } else {
+            target.ensureCapacity(target.length() + builderLength);
+            renderSteps(target, record);
+        }
+    }
+
+    private void renderSteps(final StringBuilder builder, final ExtLogRecord record) {
+        final MethodHandle compiledSteps = this.compiledSteps;
+        if (compiledSteps != null) {
+            try {
+                compiledSteps.invokeExact((Formatter) this, builder, record);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new IllegalStateException(t);
+            }
+            return;
+        }
         for (FormatStep step : steps) {
             step.render(this, builder, record);
         }
-        return builder.toString();
     }
 
     @Override
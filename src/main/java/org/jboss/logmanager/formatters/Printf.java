@@ -41,6 +41,7 @@ import java.time.temporal.TemporalField;
 import java.time.temporal.TemporalQueries;
 import java.time.temporal.TemporalUnit;
 import java.time.temporal.ValueRange;
+import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.Formattable;
@@ -65,7 +66,12 @@ class Printf {
     private static final String someSpaces = "                                "; //32 spaces
     private static final String someZeroes = "00000000000000000000000000000000"; //32 zeros
 
+    private static final int TEMPLATE_CACHE_SIZE = 1024;
+    // direct-mapped, keyed by the identity of the format string
+    private static final Template[] templateCache = new Template[TEMPLATE_CACHE_SIZE];
+
     private final Locale locale;
+    private final boolean asciiDigits;
     private volatile DateFormatSymbols dfs;
 
     public static final Printf DEFAULT = new Printf(Locale.getDefault(Locale.Category.FORMAT));
@@ -73,6 +79,7 @@ class Printf {
     public Printf(final Locale locale) {
         Assert.checkNotNullParam("locale", locale);
         this.locale = locale;
+        asciiDigits = DecimalFormatSymbols.getInstance(locale).getZeroDigit() == '0';
     }
 
     public Printf() {
@@ -101,6 +108,10 @@ class Printf {
     }
 
     public StringBuilder formatDirect(StringBuilder destination, String format, Object... params) {
+        final Template template = getTemplate(format);
+        if (template.literals != null) {
+            return formatTemplate(destination, template, params);
+        }
         int cp;
         int state = ST_INITIAL;
         GeneralFlags genFlags = GeneralFlags.NONE;
@@ -608,6 +619,56 @@ class Printf {
         return destination;
     }
 
+    private static Template getTemplate(final String format) {
+        final int index = System.identityHashCode(format) & (TEMPLATE_CACHE_SIZE - 1);
+        Template template = templateCache[index];
+        if (template == null || template.format != format) {
+            // a racing thread may parse the same format, which is harmless
+            template = Template.parse(format);
+            templateCache[index] = template;
+        }
+        return template;
+    }
+
+    /**
+     * Format a parsed template. Each conversion is passed to the same method, with the same arguments, as it would be
+     * by {@link #formatDirect(StringBuilder, String, Object...)}.
+     */
+    private StringBuilder formatTemplate(final StringBuilder destination, final Template template, final Object[] params) {
+        final String[] literals = template.literals;
+        final char[] conversions = template.conversions;
+        int crs = 0;
+        for (int i = 0; i < conversions.length; i++) {
+            destination.append(literals[i]);
+            final char cp = conversions[i];
+            switch (cp) {
+                case '%': {
+                    formatPercent(destination);
+                    break;
+                }
+                case 'n': {
+                    formatLineSeparator(destination);
+                    break;
+                }
+                default: {
+                    if (crs >= params.length) {
+                        throw new MissingFormatArgumentException("%" + cp);
+                    }
+                    final Object argVal = params[crs++];
+                    if (cp == 'd') {
+                        formatDecimalInteger(destination, checkType(cp, argVal, Number.class, Byte.class, Short.class,
+                                Integer.class, Long.class, BigInteger.class), GeneralFlags.NONE, NumericFlags.NONE, -1);
+                    } else if (argVal instanceof Formattable) {
+                        formatFormattableString(destination, (Formattable) argVal, GeneralFlags.NONE, -1, -1);
+                    } else {
+                        formatPlainString(destination, argVal, GeneralFlags.NONE, -1, -1);
+                    }
+                }
+            }
+        }
+        return destination.append(literals[conversions.length]);
+    }
+
     protected static void appendSpaces(StringBuilder target, int cnt) {
         appendFiller(target, someSpaces, cnt);
     }
@@ -742,6 +803,10 @@ class Printf {
             int width) {
         if (item == null) {
             appendStr(target, genFlags, width, -1, "null");
+        } else if (asciiDigits && genFlags == GeneralFlags.NONE && numFlags == NumericFlags.NONE && width == -1
+                && (item instanceof Integer || item instanceof Long || item instanceof Short || item instanceof Byte)) {
+            // what the decimal format below produces for these
+            target.append(item.longValue());
         } else {
             DecimalFormat fmt = (DecimalFormat) NumberFormat.getIntegerInstance(locale);
             if (numFlags.contains(NumericFlag.SIGN)) {
@@ -1229,4 +1294,43 @@ class Printf {
             return (R) temporal.with(ChronoField.YEAR, (temporal.get(ChronoField.YEAR) % 100) + 100 * newValue);
         }
     };
+
+    /**
+     * A format string made only of literal text and the {@code %s}, {@code %d}, {@code %%} and {@code %n} conversions
+     * without flags, width or precision.
+     */
+    static final class Template {
+        final String format;
+        // one more literal than there are conversions, or null if the format is not a template
+        final String[] literals;
+        final char[] conversions;
+
+        Template(final String format, final String[] literals, final char[] conversions) {
+            this.format = format;
+            this.literals = literals;
+            this.conversions = conversions;
+        }
+
+        static Template parse(final String format) {
+            final int length = format.length();
+            final ArrayList<String> literals = new ArrayList<>();
+            final StringBuilder conversions = new StringBuilder();
+            int start = 0;
+            int i;
+            while ((i = format.indexOf('%', start)) >= 0) {
+                if (i + 1 == length) {
+                    return new Template(format, null, null);
+                }
+                final char cp = format.charAt(i + 1);
+                if (cp != 's' && cp != 'd' && cp != '%' && cp != 'n') {
+                    return new Template(format, null, null);
+                }
+                literals.add(format.substring(start, i));
+                conversions.append(cp);
+                start = i + 2;
+            }
+            literals.add(format.substring(start));
+            return new Template(format, literals.toArray(new String[0]), conversions.toString().toCharArray());
+        }
+    }
 }
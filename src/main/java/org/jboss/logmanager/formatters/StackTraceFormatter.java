@@ -23,6 +23,8 @@ import java.util.Collections;
 import java.util.IdentityHashMap;
 import java.util.Set;
 
+import org.jboss.logmanager.ExtLogRecord;
+
 /**
  * Formatter used to format the stack trace of an exception.
  *
@@ -66,6 +68,22 @@ public class StackTraceFormatter {
         new StackTraceFormatter(builder, suppressedDepth).renderStackTrace(t);
     }
 
+    /**
+     * Renders the stack trace of the thrown exception of the record. The rendered stack trace is cached on the record,
+     * so it is rendered only once for all formatters using the same suppressed depth.
+     *
+     * @param record          the record whose thrown exception should be rendered
+     * @param suppressedDepth the number of suppressed messages to include
+     * @return the rendered stack trace, or {@code null} if the record has no thrown exception
+     */
+    static String renderStackTrace(final ExtLogRecord record, final int suppressedDepth) {
+        return record.getRenderedStackTrace(new RenderKey(suppressedDepth), t -> {
+            final StringBuilder builder = new StringBuilder();
+            renderStackTrace(builder, t, suppressedDepth);
+            return builder.toString();
+        });
+    }
+
     private void renderStackTrace(final Throwable t) {
         // Reset the suppression count
         suppressedCount = 0;
@@ -159,4 +177,25 @@ public class StackTraceFormatter {
     private void newLine() {
         builder.append(System.lineSeparator());
     }
+
+    /**
+     * The key of a stack trace rendered by this formatter.
+     */
+    private static final class RenderKey {
+        private final int suppressedDepth;
+
+        RenderKey(final int suppressedDepth) {
+            this.suppressedDepth = suppressedDepth;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            return obj instanceof RenderKey && ((RenderKey) obj).suppressedDepth == suppressedDepth;
+        }
+
+        @Override
+        public int hashCode() {
+            return suppressedDepth;
+        }
+    }
 }
@@ -64,7 +64,7 @@ public final class StringBuilderWriter extends Writer {
 
     @Override
     public void write(final String str, final int off, final int len) {
-        builder.append(str, off, len);
+        builder.append(str, off, off + len);
     }
 
     @Override
@@ -122,20 +122,19 @@ public abstract class StructuredFormatter extends ExtFormatter {
 
     private final Map<Key, String> keyOverrides;
     private final String keyOverridesValue;
-    // Guarded by this
-    private String metaData;
-    // Guarded by this
-    private Map<String, String> metaDataMap;
+    // Written while holding this
+    private volatile String metaData;
+    // Written while holding this
+    private volatile Map<String, String> metaDataMap;
     private volatile boolean printDetails;
     private volatile String eorDelimiter = "\n";
-    // Guarded by this
-    private DateTimeFormatter dateTimeFormatter;
-    // Guarded by this
-    private ZoneId zoneId;
+    // Written while holding this
+    private volatile DateTimeFormatter dateTimeFormatter;
+    // Written while holding this
+    private volatile CachedDateTimeFormatter cachedDateTimeFormatter;
+    // Written while holding this
+    private volatile ZoneId zoneId;
     private volatile ExceptionOutputType exceptionOutputType;
-    private final StringBuilderWriter writer = new StringBuilderWriter();
-    // Guarded by this
-    private int refId;
 
     protected StructuredFormatter() {
         this(null, null);
@@ -153,13 +152,15 @@ public abstract class StructuredFormatter extends ExtFormatter {
         this.keyOverridesValue = keyOverridesValue;
         this.printDetails = false;
         zoneId = ZoneId.systemDefault();
-        dateTimeFormatter = DateTimeFormatter.ISO_OFFSET_DATE_TIME.withZone(zoneId);
+        setDateTimeFormatter(DateTimeFormatter.ISO_OFFSET_DATE_TIME.withZone(zoneId));
         this.keyOverrides = (keyOverrides == null ? Collections.emptyMap() : new EnumMap<>(keyOverrides));
+        metaDataMap = Collections.emptyMap();
         exceptionOutputType = ExceptionOutputType.DETAILED;
     }
 
     /**
-     * Creates the generator used to create the structured data.
+     * Creates the generator used to create the structured data. A new generator is created for each record and records
+     * may be formatted concurrently, so implementations must not share mutable state between generators.
      *
      * @return the generator to use
      *
@@ -202,14 +203,27 @@ public abstract class StructuredFormatter extends ExtFormatter {
     }
 
     @Override
-    public final synchronized String format(final ExtLogRecord record) {
+    public final String format(final ExtLogRecord record) {
+        final StringBuilder builder = new StringBuilder(256);
+        formatTo(builder, record);
+        return builder.toString();
+    }
+
+    /**
+     * {@inheritDoc} Records are formatted without holding a lock; each call writes through its own generator, so
+     * several threads may format with the same instance at the same time.
+     */
+    @Override
+    public final void formatTo(final StringBuilder target, final ExtLogRecord record) {
         final boolean details = printDetails;
+        final int start = target.length();
+        final StringBuilderWriter writer = new StringBuilderWriter(target);
         try {
             final Generator generator = createGenerator(writer).begin();
             before(generator, record);
 
             // Add the default structure
-            generator.add(getKey(Key.TIMESTAMP), dateTimeFormatter.format(record.getInstant()))
+            generator.add(getKey(Key.TIMESTAMP), cachedDateTimeFormatter.format(record.getInstant()))
                     .add(getKey(Key.SEQUENCE), record.getSequenceNumber())
                     .add(getKey(Key.LOGGER_CLASS_NAME), record.getLoggerClassName())
                     .add(getKey(Key.LOGGER_NAME), record.getLoggerName())
@@ -236,7 +250,6 @@ public abstract class StructuredFormatter extends ExtFormatter {
             final Throwable thrown = record.getThrown();
             if (thrown != null) {
                 if (isDetailedExceptionOutputType()) {
-                    refId = 0;
                     final Map<Throwable, Integer> seen = new IdentityHashMap<>();
                     generator.startObject(getKey(Key.EXCEPTION));
                     addException(generator, thrown, seen);
@@ -244,9 +257,7 @@ public abstract class StructuredFormatter extends ExtFormatter {
                 }
 
                 if (isFormattedExceptionOutputType()) {
-                    final StringBuilder sb = new StringBuilder();
-                    StackTraceFormatter.renderStackTrace(sb, thrown, -1);
-                    generator.add(getKey(Key.STACK_TRACE), sb.toString());
+                    generator.add(getKey(Key.STACK_TRACE), StackTraceFormatter.renderStackTrace(record, -1));
                 }
             }
             if (details) {
@@ -258,7 +269,8 @@ public abstract class StructuredFormatter extends ExtFormatter {
                         .add(getKey(Key.SOURCE_MODULE_VERSION), record.getSourceModuleVersion());
             }
 
-            if (isNotNullOrEmpty(metaData)) {
+            final Map<String, String> metaDataMap = this.metaDataMap;
+            if (!metaDataMap.isEmpty()) {
                 generator.addMetaData(metaDataMap);
             }
 
@@ -266,16 +278,15 @@ public abstract class StructuredFormatter extends ExtFormatter {
             generator.end();
 
             // Append an EOL character if desired
-            if (getRecordDelimiter() != null) {
-                writer.append(getRecordDelimiter());
+            final String eorDelimiter = getRecordDelimiter();
+            if (eorDelimiter != null) {
+                writer.append(eorDelimiter);
             }
-            return writer.toString();
         } catch (Exception e) {
+            // Discard any partial output
+            target.setLength(start);
             // Wrap and rethrow
             throw new RuntimeException(e);
-        } finally {
-            // Clear the writer for the next format
-            writer.clear();
         }
     }
 
@@ -349,7 +360,7 @@ public abstract class StructuredFormatter extends ExtFormatter {
      *
      * @return the current formatter
      */
-    public synchronized DateTimeFormatter getDateTimeFormatter() {
+    public DateTimeFormatter getDateTimeFormatter() {
         return dateTimeFormatter;
     }
 
@@ -366,18 +377,23 @@ public abstract class StructuredFormatter extends ExtFormatter {
      */
     public synchronized void setDateFormat(final String pattern) {
         if (pattern == null) {
-            dateTimeFormatter = DateTimeFormatter.ISO_OFFSET_DATE_TIME.withZone(zoneId);
+            setDateTimeFormatter(DateTimeFormatter.ISO_OFFSET_DATE_TIME.withZone(zoneId));
         } else {
-            dateTimeFormatter = DateTimeFormatter.ofPattern(pattern).withZone(zoneId);
+            setDateTimeFormatter(DateTimeFormatter.ofPattern(pattern).withZone(zoneId));
         }
     }
 
+    private void setDateTimeFormatter(final DateTimeFormatter dateTimeFormatter) {
+        this.dateTimeFormatter = dateTimeFormatter;
+        cachedDateTimeFormatter = new CachedDateTimeFormatter(dateTimeFormatter, dateTimeFormatter.getZone());
+    }
+
     /**
      * Returns the current zone id used for the {@linkplain #getDateTimeFormatter() date and time formatter}.
      *
      * @return the current zone id
      */
-    public synchronized ZoneId getZoneId() {
+    public ZoneId getZoneId() {
         return zoneId;
     }
 
@@ -400,7 +416,7 @@ public abstract class StructuredFormatter extends ExtFormatter {
         }
         synchronized (this) {
             this.zoneId = changed;
-            dateTimeFormatter = dateTimeFormatter.withZone(changed);
+            setDateTimeFormatter(dateTimeFormatter.withZone(changed));
         }
     }
 
@@ -482,7 +498,8 @@ public abstract class StructuredFormatter extends ExtFormatter {
             generator.add(getKey(Key.EXCEPTION_MESSAGE), throwable.getMessage());
             generator.endObject(); // end circular reference
         } else {
-            final int id = ++refId;
+            // reference ids are assigned in the order exceptions are first seen
+            final int id = seen.size() + 1;
             seen.put(throwable, id);
             generator.addAttribute(getKey(Key.EXCEPTION_REFERENCE_ID), id);
             generator.add(getKey(Key.EXCEPTION_TYPE), throwable.getClass().getName());
@@ -13,6 +13,7 @@ import java.util.function.Supplier;
 import java.util.logging.Handler;
 
 import org.jboss.logmanager.ExtFormatter;
+import org.jboss.logmanager.ExtLogRecord;
 
 /**
  * A formatter which prints a text banner ahead of the normal formatter header.
@@ -33,6 +34,11 @@ public final class TextBannerFormatter extends ExtFormatter.Delegating {
         this.bannerSupplier = Objects.requireNonNull(bannerSupplier, "bannerSupplier");
     }
 
+    // doc inherited
+    public void formatTo(final StringBuilder target, final ExtLogRecord record) {
+        delegate.formatTo(target, record);
+    }
+
     // doc inherited
     public String getHead(final Handler h) {
         final String dh = Objects.requireNonNullElse(delegate.getHead(h), "");
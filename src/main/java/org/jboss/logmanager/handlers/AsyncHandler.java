@@ -19,6 +19,8 @@
 
 package org.jboss.logmanager.handlers;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Executors;
@@ -35,16 +37,23 @@ import org.jboss.logmanager.ExtLogRecord;
  */
 public class AsyncHandler extends ExtHandler {
 
-    private final BlockingQueue<ExtLogRecord> recordQueue;
+    private final BlockingQueue<ExtLogRecord>[] recordQueues;
     private final int queueLength;
-    private final Thread thread;
+    private final WaitStrategy waitStrategy;
+    private final Thread[] threads;
     private volatile OverflowAction overflowAction = OverflowAction.BLOCK;
+    private volatile int batchSize = 1;
+    private volatile String partitionKey;
 
     @SuppressWarnings("unused")
     private volatile int state;
+    @SuppressWarnings("unused")
+    private volatile int activeWorkers;
 
     private static final AtomicIntegerFieldUpdater<AsyncHandler> stateUpdater = AtomicIntegerFieldUpdater
             .newUpdater(AsyncHandler.class, "state");
+    private static final AtomicIntegerFieldUpdater<AsyncHandler> activeWorkersUpdater = AtomicIntegerFieldUpdater
+            .newUpdater(AsyncHandler.class, "activeWorkers");
 
     private static final int DEFAULT_QUEUE_LENGTH = 512;
 
@@ -55,13 +64,84 @@ public class AsyncHandler extends ExtHandler {
      * @param threadFactory the thread factory to use to construct the handler thread
      */
     public AsyncHandler(final int queueLength, final ThreadFactory threadFactory) {
-        recordQueue = new ArrayBlockingQueue<ExtLogRecord>(queueLength);
-        thread = threadFactory.newThread(new AsyncTask());
-        if (thread == null) {
-            throw new IllegalArgumentException("Thread factory did not create a thread");
+        this(queueLength, null, threadFactory);
+    }
+
+    /**
+     * Construct a new instance. If a wait strategy is given, records are queued in a preallocated lock-free ring
+     * buffer rather than a lock-based blocking queue, which allows throughput to scale with the number of producing
+     * threads. The ring buffer capacity is the queue length rounded up to the next power of two.
+     *
+     * @param queueLength   the queue length
+     * @param waitStrategy  the wait strategy for the ring buffer, or {@code null} to use a blocking queue
+     * @param threadFactory the thread factory to use to construct the handler thread
+     */
+    public AsyncHandler(final int queueLength, final WaitStrategy waitStrategy, final ThreadFactory threadFactory) {
+        this(queueLength, waitStrategy, 1, threadFactory);
+    }
+
+    /**
+     * Construct a new instance with a pool of handler threads. Each handler thread drains its own queue of the given
+     * length. Records are assigned to a handler thread by {@linkplain #setPartitionKey(String) partition}, so records
+     * of the same partition are always published in order while different partitions are published in parallel.
+     * <p>
+     * The thread factory may create virtual threads.
+     * </p>
+     *
+     * @param queueLength   the queue length of each handler thread
+     * @param waitStrategy  the wait strategy for the ring buffers, or {@code null} to use blocking queues
+     * @param workerCount   the number of handler threads
+     * @param threadFactory the thread factory to use to construct the handler threads
+     */
+    @SuppressWarnings("unchecked")
+    public AsyncHandler(final int queueLength, final WaitStrategy waitStrategy, final int workerCount,
+            final ThreadFactory threadFactory) {
+        if (workerCount < 1) {
+            throw new IllegalArgumentException("workerCount must be at least 1");
+        }
+        recordQueues = new BlockingQueue[workerCount];
+        threads = new Thread[workerCount];
+        for (int i = 0; i < workerCount; i++) {
+            final BlockingQueue<ExtLogRecord> recordQueue;
+            if (waitStrategy == null) {
+                recordQueue = new ArrayBlockingQueue<ExtLogRecord>(queueLength);
+            } else {
+                recordQueue = new RingBufferQueue<ExtLogRecord>(queueLength, waitStrategy);
+            }
+            final Thread thread = threadFactory.newThread(new AsyncTask(recordQueue));
+            if (thread == null) {
+                throw new IllegalArgumentException("Thread factory did not create a thread");
+            }
+            thread.setDaemon(true);
+            recordQueues[i] = recordQueue;
+            threads[i] = thread;
         }
-        thread.setDaemon(true);
         this.queueLength = queueLength;
+        this.waitStrategy = waitStrategy;
+        activeWorkers = workerCount;
+    }
+
+    /**
+     * Construct a new instance with a pool of handler threads.
+     *
+     * @param queueLength  the queue length of each handler thread
+     * @param waitStrategy the wait strategy for the ring buffers, or {@code null} to use blocking queues
+     * @param workerCount  the number of handler threads
+     *
+     * @see #AsyncHandler(int, WaitStrategy, int, ThreadFactory)
+     */
+    public AsyncHandler(final int queueLength, final WaitStrategy waitStrategy, final int workerCount) {
+        this(queueLength, waitStrategy, workerCount, Executors.defaultThreadFactory());
+    }
+
+    /**
+     * Construct a new instance which queues records in a lock-free ring buffer.
+     *
+     * @param queueLength  the queue length
+     * @param waitStrategy the wait strategy for the ring buffer, or {@code null} to use a blocking queue
+     */
+    public AsyncHandler(final int queueLength, final WaitStrategy waitStrategy) {
+        this(queueLength, waitStrategy, Executors.defaultThreadFactory());
     }
 
     /**
@@ -90,7 +170,7 @@ public class AsyncHandler extends ExtHandler {
     }
 
     /**
-     * The full size of the queue.
+     * The full size of the queue. If there are several handler threads, this is the size of the queue of each one.
      *
      * @return the full size of the queue.
      */
@@ -98,6 +178,45 @@ public class AsyncHandler extends ExtHandler {
         return queueLength;
     }
 
+    /**
+     * Get the number of handler threads.
+     *
+     * @return the number of handler threads
+     */
+    public int getWorkerCount() {
+        return threads.length;
+    }
+
+    /**
+     * Get the MDC key used to partition records between handler threads.
+     *
+     * @return the MDC key, or {@code null} if records are partitioned by logger name
+     */
+    public String getPartitionKey() {
+        return partitionKey;
+    }
+
+    /**
+     * Set the MDC key used to partition records between handler threads. Records with the same value for the key are
+     * published in the order they were queued. If {@code null}, which is the default, records are partitioned by logger
+     * name. This setting has no effect if there is only one handler thread.
+     *
+     * @param partitionKey the MDC key, or {@code null} to partition records by logger name
+     */
+    public void setPartitionKey(final String partitionKey) {
+        checkAccess();
+        this.partitionKey = partitionKey;
+    }
+
+    /**
+     * Get the wait strategy used by the ring buffer queue.
+     *
+     * @return the wait strategy, or {@code null} if records are queued in a blocking queue
+     */
+    public WaitStrategy getWaitStrategy() {
+        return waitStrategy;
+    }
+
     /**
      * Get the overflow action.
      *
@@ -120,12 +239,39 @@ public class AsyncHandler extends ExtHandler {
         this.overflowAction = overflowAction;
     }
 
+    /**
+     * Get the maximum number of records handed to the nested handlers at once.
+     *
+     * @return the batch size
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Set the maximum number of records handed to the nested handlers at once. With a batch size greater than one, the
+     * handler thread drains up to this many queued records each time it wakes up and delivers them to nested handlers
+     * through {@link ExtHandler#publishBatch(List)}. The default is {@code 1}, which publishes each record
+     * individually.
+     *
+     * @param batchSize the batch size, must be at least {@code 1}
+     */
+    public void setBatchSize(final int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be at least 1");
+        }
+        checkAccess();
+        this.batchSize = batchSize;
+    }
+
     /** {@inheritDoc} */
     protected void doPublish(final ExtLogRecord record) {
         switch (state) {
             case 0: {
                 if (stateUpdater.compareAndSet(this, 0, 1)) {
-                    thread.start();
+                    for (Thread thread : threads) {
+                        thread.start();
+                    }
                 }
             }
             case 1: {
@@ -135,7 +281,6 @@ public class AsyncHandler extends ExtHandler {
                 return;
             }
         }
-        final BlockingQueue<ExtLogRecord> recordQueue = this.recordQueue;
         // Determine if we need to calculate the caller information before we queue the record
         if (isCallerCalculationRequired()) {
             // prepare record to move to another thread
@@ -146,10 +291,15 @@ public class AsyncHandler extends ExtHandler {
             // Copy the MDC over
             record.copyMdc();
         }
-        if (Thread.currentThread() == thread) {
-            publishToNestedHandlers(record);
-            return;
+        final Thread currentThread = Thread.currentThread();
+        for (Thread thread : threads) {
+            if (currentThread == thread) {
+                publishToNestedHandlers(record);
+                return;
+            }
         }
+        final BlockingQueue<ExtLogRecord> recordQueue = recordQueues.length == 1 ? recordQueues[0]
+                : recordQueues[partitionOf(record)];
         if (overflowAction == OverflowAction.DISCARD) {
             recordQueue.offer(record);
         } else {
@@ -166,15 +316,34 @@ public class AsyncHandler extends ExtHandler {
     public void close() throws SecurityException {
         checkAccess();
         if (stateUpdater.getAndSet(this, 2) != 2) {
-            thread.interrupt();
+            for (Thread thread : threads) {
+                thread.interrupt();
+            }
             super.close();
         }
     }
 
+    private int partitionOf(final ExtLogRecord record) {
+        final String partitionKey = this.partitionKey;
+        final String partition = partitionKey == null ? record.getLoggerName() : record.getMdc(partitionKey);
+        if (partition == null) {
+            return 0;
+        }
+        final int hash = partition.hashCode();
+        return Math.floorMod(hash ^ (hash >>> 16), recordQueues.length);
+    }
+
     private final class AsyncTask implements Runnable {
+        private final BlockingQueue<ExtLogRecord> recordQueue;
+
+        AsyncTask(final BlockingQueue<ExtLogRecord> recordQueue) {
+            this.recordQueue = recordQueue;
+        }
+
         public void run() {
-            final BlockingQueue<ExtLogRecord> recordQueue = AsyncHandler.this.recordQueue;
+            final BlockingQueue<ExtLogRecord> recordQueue = this.recordQueue;
             final Handler[] handlers = AsyncHandler.this.handlers;
+            final List<ExtLogRecord> batch = new ArrayList<>();
 
             boolean intr = false;
             try {
@@ -203,13 +372,27 @@ public class AsyncHandler extends ExtHandler {
                         intr = true;
                         continue;
                     }
-                    publishToNestedHandlers(rec);
+                    final int batchSize = AsyncHandler.this.batchSize;
+                    if (batchSize > 1) {
+                        batch.add(rec);
+                        recordQueue.drainTo(batch, batchSize - 1);
+                        try {
+                            publishBatchToNestedHandlers(batch);
+                        } finally {
+                            batch.clear();
+                        }
+                    } else {
+                        publishToNestedHandlers(rec);
+                    }
                 }
             } finally {
                 if (intr) {
                     Thread.currentThread().interrupt();
                 }
-                clearHandlers();
+                // the last handler thread to finish releases the nested handlers
+                if (activeWorkersUpdater.decrementAndGet(AsyncHandler.this) == 0) {
+                    clearHandlers();
+                }
             }
         }
     }
@@ -218,4 +401,28 @@ public class AsyncHandler extends ExtHandler {
         BLOCK,
         DISCARD,
     }
+
+    /**
+     * The strategy used by the ring buffer queue when the handler thread waits for records, or when a producer waits
+     * for free space with the {@link OverflowAction#BLOCK BLOCK} overflow action.
+     */
+    public enum WaitStrategy {
+        /**
+         * Busy-spin; lowest latency at the cost of a fully occupied core.
+         */
+        SPIN,
+        /**
+         * Yield the processor between attempts.
+         */
+        YIELD,
+        /**
+         * Park for a short, fixed interval between attempts.
+         */
+        PARK,
+        /**
+         * Park the handler thread until a producer signals that a record was queued. Producers waiting for free space
+         * park for a short, fixed interval between attempts.
+         */
+        BLOCK,
+    }
 }
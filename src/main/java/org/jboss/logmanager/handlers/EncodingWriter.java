@@ -0,0 +1,187 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.logmanager.handlers;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A buffered writer which encodes characters directly into a reusable byte buffer for the UTF-8, US-ASCII and
+ * ISO-8859-1 character sets. The buffer is written to the underlying stream in a single call when it fills up or is
+ * flushed, which avoids the separate character buffer and encoder layers of a {@code BufferedWriter} over an
+ * {@code OutputStreamWriter}. Malformed and unmappable characters are replaced with {@code '?'}, exactly as an
+ * {@code OutputStreamWriter} would.
+ * <p>
+ * This writer is not thread-safe.
+ * </p>
+ */
+final class EncodingWriter extends Writer {
+    private static final int BUFFER_SIZE = 8192;
+    private static final byte REPLACEMENT = '?';
+
+    private final OutputStream out;
+    private final boolean utf8;
+    private final char maxChar;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position;
+    private char highSurrogate;
+
+    /**
+     * Construct a new instance.
+     *
+     * @param out     the stream to write to
+     * @param charset the character set, which must be {@linkplain #isSupported(Charset) supported}
+     */
+    EncodingWriter(final OutputStream out, final Charset charset) {
+        if (!isSupported(charset)) {
+            throw new IllegalArgumentException("Unsupported character set " + charset);
+        }
+        this.out = out;
+        utf8 = charset.equals(StandardCharsets.UTF_8);
+        maxChar = charset.equals(StandardCharsets.US_ASCII) ? (char) 0x7f : (char) 0xff;
+    }
+
+    /**
+     * Determine whether the character set can be encoded by this writer.
+     *
+     * @param charset the character set
+     * @return {@code true} if the character set is supported, otherwise {@code false}
+     */
+    static boolean isSupported(final Charset charset) {
+        return charset.equals(StandardCharsets.UTF_8) || charset.equals(StandardCharsets.US_ASCII)
+                || charset.equals(StandardCharsets.ISO_8859_1);
+    }
+
+    @Override
+    public void write(final int c) throws IOException {
+        encode((char) c);
+    }
+
+    @Override
+    public void write(final char[] cbuf, final int off, final int len) throws IOException {
+        for (int i = off; i < off + len; i++) {
+            encode(cbuf[i]);
+        }
+    }
+
+    @Override
+    public void write(final String str, final int off, final int len) throws IOException {
+        for (int i = off; i < off + len; i++) {
+            encode(str.charAt(i));
+        }
+    }
+
+    @Override
+    public Writer append(final CharSequence csq) throws IOException {
+        if (csq == null) {
+            write("null");
+        } else {
+            append(csq, 0, csq.length());
+        }
+        return this;
+    }
+
+    @Override
+    public Writer append(final CharSequence csq, final int start, final int end) throws IOException {
+        if (csq == null) {
+            return append("null", start, end);
+        }
+        for (int i = start; i < end; i++) {
+            encode(csq.charAt(i));
+        }
+        return this;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        flushBuffer();
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (highSurrogate != 0) {
+                // a dangling high surrogate is malformed
+                highSurrogate = 0;
+                put(REPLACEMENT);
+            }
+            flushBuffer();
+        } finally {
+            out.close();
+        }
+    }
+
+    private void encode(final char c) throws IOException {
+        if (highSurrogate != 0) {
+            final char high = highSurrogate;
+            highSurrogate = 0;
+            if (Character.isLowSurrogate(c)) {
+                if (utf8) {
+                    final int cp = Character.toCodePoint(high, c);
+                    put((byte) (0xF0 | 0x07 & cp >>> 18));
+                    put((byte) (0x80 | 0x3F & cp >>> 12));
+                    put((byte) (0x80 | 0x3F & cp >>> 6));
+                    put((byte) (0x80 | 0x3F & cp));
+                } else {
+                    // one replacement per unmappable code point
+                    put(REPLACEMENT);
+                }
+                return;
+            }
+            put(REPLACEMENT);
+        }
+        if (c < 0x80) {
+            put((byte) c);
+        } else if (Character.isHighSurrogate(c)) {
+            highSurrogate = c;
+        } else if (Character.isLowSurrogate(c)) {
+            put(REPLACEMENT);
+        } else if (utf8) {
+            if (c < 0x800) {
+                put((byte) (0xC0 | 0x1F & c >>> 6));
+                put((byte) (0x80 | 0x3F & c));
+            } else {
+                put((byte) (0xE0 | 0x0F & c >>> 12));
+                put((byte) (0x80 | 0x3F & c >>> 6));
+                put((byte) (0x80 | 0x3F & c));
+            }
+        } else {
+            put(c <= maxChar ? (byte) c : REPLACEMENT);
+        }
+    }
+
+    private void put(final byte b) throws IOException {
+        if (position == BUFFER_SIZE) {
+            flushBuffer();
+        }
+        buffer[position++] = b;
+    }
+
+    private void flushBuffer() throws IOException {
+        if (position > 0) {
+            out.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.logmanager.handlers;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.logmanager.handlers.FileHandler.SyncPolicy;
+
+/**
+ * A buffered output stream which writes to a {@link FileChannel}. Writes larger than the free space in the buffer are
+ * written together with the buffered bytes in a single gathering write. Written data is
+ * {@linkplain FileChannel#force(boolean) forced} to the storage device according to the {@link SyncPolicy}.
+ * <p>
+ * This stream is not thread-safe.
+ * </p>
+ */
+final class FileChannelOutputStream extends OutputStream {
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private final ByteBuffer[] gather = new ByteBuffer[2];
+    private final SyncPolicy syncPolicy;
+    private final long syncIntervalNanos;
+    private final long syncBytes;
+    private long unsyncedBytes;
+    private long lastSync;
+
+    /**
+     * Construct a new instance.
+     *
+     * @param channel      the channel to write to
+     * @param bufferSize   the size of the buffer
+     * @param directBuffer {@code true} to allocate a direct buffer
+     * @param syncPolicy   the policy which determines when written data is forced to the storage device
+     * @param syncInterval the interval, in milliseconds, for the {@link SyncPolicy#INTERVAL} policy
+     * @param syncBytes    the number of bytes for the {@link SyncPolicy#BYTES} policy
+     */
+    FileChannelOutputStream(final FileChannel channel, final int bufferSize, final boolean directBuffer,
+            final SyncPolicy syncPolicy, final long syncInterval, final long syncBytes) {
+        this.channel = channel;
+        buffer = directBuffer ? ByteBuffer.allocateDirect(bufferSize) : ByteBuffer.allocate(bufferSize);
+        this.syncPolicy = syncPolicy;
+        syncIntervalNanos = TimeUnit.MILLISECONDS.toNanos(syncInterval);
+        this.syncBytes = syncBytes;
+        lastSync = System.nanoTime();
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+        if (!buffer.hasRemaining()) {
+            drain();
+        }
+        buffer.put((byte) b);
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+        if (len <= buffer.remaining()) {
+            buffer.put(b, off, len);
+            return;
+        }
+        final ByteBuffer src = ByteBuffer.wrap(b, off, len);
+        if (buffer.position() == 0) {
+            writeFully(src);
+        } else {
+            buffer.flip();
+            final ByteBuffer[] gather = this.gather;
+            gather[0] = buffer;
+            gather[1] = src;
+            long written = 0L;
+            try {
+                while (src.hasRemaining()) {
+                    written += channel.write(gather);
+                }
+            } finally {
+                gather[1] = null;
+                buffer.compact();
+            }
+            written(written);
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        drain();
+        if (unsyncedBytes > 0L && (syncPolicy == SyncPolicy.ON_FLUSH
+                || syncPolicy == SyncPolicy.INTERVAL && System.nanoTime() - lastSync >= syncIntervalNanos)) {
+            sync();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            drain();
+            if (unsyncedBytes > 0L && syncPolicy != SyncPolicy.NEVER) {
+                sync();
+            }
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void drain() throws IOException {
+        if (buffer.position() > 0) {
+            buffer.flip();
+            try {
+                writeFully(buffer);
+            } finally {
+                buffer.compact();
+            }
+        }
+    }
+
+    private void writeFully(final ByteBuffer src) throws IOException {
+        long written = 0L;
+        while (src.hasRemaining()) {
+            written += channel.write(src);
+        }
+        written(written);
+    }
+
+    private void written(final long bytes) throws IOException {
+        unsyncedBytes += bytes;
+        if (syncPolicy == SyncPolicy.BYTES && unsyncedBytes >= syncBytes
+                || syncPolicy == SyncPolicy.INTERVAL && System.nanoTime() - lastSync >= syncIntervalNanos) {
+            sync();
+        }
+    }
+
+    private void sync() throws IOException {
+        channel.force(false);
+        unsyncedBytes = 0L;
+        lastSync = System.nanoTime();
+    }
+}
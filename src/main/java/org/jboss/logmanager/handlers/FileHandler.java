@@ -23,16 +23,90 @@ import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
+import java.io.IOException;
 import java.io.OutputStream;
+import java.io.RandomAccessFile;
 import java.util.logging.Formatter;
 
+import io.smallrye.common.os.OS;
+
 /**
  * A simple file handler.
+ * <p>
+ * By default the file is written through a buffered {@link FileOutputStream}. The
+ * {@linkplain #setOutputMode(OutputMode) output mode} can be changed to write through a
+ * {@link java.nio.channels.FileChannel FileChannel} instead, which allows a
+ * {@linkplain #setDirectBuffer(boolean) direct buffer} and a {@linkplain #setSyncPolicy(SyncPolicy) policy} for forcing
+ * written data to the storage device, or through a sliding memory-mapped region. Changes to the output settings take
+ * effect the next time the {@linkplain #setFile(File) file is set}.
+ * </p>
  */
 public class FileHandler extends OutputStreamHandler {
 
+    /**
+     * The way the file is written.
+     */
+    public enum OutputMode {
+        /**
+         * Write through a buffered {@link FileOutputStream}.
+         */
+        STREAM,
+        /**
+         * Write through a {@link java.nio.channels.FileChannel FileChannel} with gathering writes.
+         */
+        CHANNEL,
+        /**
+         * Append to the file through a sliding memory-mapped region of {@linkplain #setMappedRegionSize(int) fixed
+         * size}. The file grows by a whole region at a time and is truncated to the length of the written data when
+         * it is closed, for example on rotation. While the file is open it is padded with {@code NUL} bytes, and the
+         * length of the written data is recorded in a {@code .mapped-length} file next to it, so that a file which
+         * was not closed is truncated to that length when it is appended to again. Writes do not require a system
+         * call until a new region is mapped.
+         * <p>
+         * Windows does not allow renaming or truncating a file while it is mapped, so on Windows this mode falls back
+         * to the {@link #CHANNEL CHANNEL} mode.
+         * </p>
+         */
+        MAPPED,
+    }
+
+    /**
+     * The policy which determines when data written in the {@link OutputMode#CHANNEL CHANNEL} and
+     * {@link OutputMode#MAPPED MAPPED} output modes is forced to the storage device. Unless the policy is
+     * {@link #NEVER}, all written data is forced when the file is closed.
+     */
+    public enum SyncPolicy {
+        /**
+         * Leave it to the operating system to write data to the storage device.
+         */
+        NEVER,
+        /**
+         * Force written data each time the handler is flushed.
+         */
+        ON_FLUSH,
+        /**
+         * Force written data once the {@linkplain #setSyncInterval(long) sync interval} has elapsed since it was last
+         * forced. The interval is checked when data is written or the handler is flushed.
+         */
+        INTERVAL,
+        /**
+         * Force written data once the {@linkplain #setSyncBytes(long) number of bytes} written since it was last
+         * forced reaches a threshold.
+         */
+        BYTES,
+    }
+
+    private static final int DEFAULT_BUFFER_SIZE = 8192;
+
     private File file;
     private boolean append;
+    private OutputMode outputMode = OutputMode.STREAM;
+    private int bufferSize = DEFAULT_BUFFER_SIZE;
+    private boolean directBuffer;
+    private SyncPolicy syncPolicy = SyncPolicy.NEVER;
+    private long syncInterval = 1000L;
+    private long syncBytes = 1L << 20;
+    private int mappedRegionSize = 1 << 23;
 
     /**
      * Construct a new instance with no formatter and no output file.
@@ -133,6 +207,231 @@ public class FileHandler extends OutputStreamHandler {
         }
     }
 
+    /**
+     * Returns the way the file is written.
+     *
+     * @return the output mode
+     */
+    public OutputMode getOutputMode() {
+        lock.lock();
+        try {
+            return outputMode;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Sets the way the file is written.
+     *
+     * @param outputMode the output mode, {@code null} for the default {@link OutputMode#STREAM STREAM} mode
+     */
+    public void setOutputMode(final OutputMode outputMode) {
+        checkAccess();
+        lock.lock();
+        try {
+            this.outputMode = outputMode == null ? OutputMode.STREAM : outputMode;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the size of the buffer used for writing to the file.
+     *
+     * @return the buffer size in bytes
+     */
+    public int getBufferSize() {
+        lock.lock();
+        try {
+            return bufferSize;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Sets the size of the buffer used for writing to the file.
+     *
+     * @param bufferSize the buffer size in bytes
+     *
+     * @throws IllegalArgumentException if the buffer size is less than 1
+     */
+    public void setBufferSize(final int bufferSize) {
+        checkAccess();
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("Buffer size must be at least 1");
+        }
+        lock.lock();
+        try {
+            this.bufferSize = bufferSize;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Indicates whether a direct buffer is used in the {@link OutputMode#CHANNEL CHANNEL} output mode.
+     *
+     * @return {@code true} if a direct buffer is used, otherwise {@code false}
+     */
+    public boolean isDirectBuffer() {
+        lock.lock();
+        try {
+            return directBuffer;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Set to {@code true} to use a direct buffer in the {@link OutputMode#CHANNEL CHANNEL} output mode.
+     *
+     * @param directBuffer {@code true} to use a direct buffer
+     */
+    public void setDirectBuffer(final boolean directBuffer) {
+        checkAccess();
+        lock.lock();
+        try {
+            this.directBuffer = directBuffer;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the policy which determines when written data is forced to the storage device.
+     *
+     * @return the sync policy
+     */
+    public SyncPolicy getSyncPolicy() {
+        lock.lock();
+        try {
+            return syncPolicy;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Sets the policy which determines when written data is forced to the storage device. The policy does not apply to
+     * the {@link OutputMode#STREAM STREAM} output mode.
+     *
+     * @param syncPolicy the sync policy, {@code null} for {@link SyncPolicy#NEVER NEVER}
+     */
+    public void setSyncPolicy(final SyncPolicy syncPolicy) {
+        checkAccess();
+        lock.lock();
+        try {
+            this.syncPolicy = syncPolicy == null ? SyncPolicy.NEVER : syncPolicy;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the interval for the {@link SyncPolicy#INTERVAL INTERVAL} sync policy.
+     *
+     * @return the interval in milliseconds
+     */
+    public long getSyncInterval() {
+        lock.lock();
+        try {
+            return syncInterval;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Sets the interval for the {@link SyncPolicy#INTERVAL INTERVAL} sync policy.
+     *
+     * @param syncInterval the interval in milliseconds
+     *
+     * @throws IllegalArgumentException if the interval is negative
+     */
+    public void setSyncInterval(final long syncInterval) {
+        checkAccess();
+        if (syncInterval < 0L) {
+            throw new IllegalArgumentException("Sync interval must not be negative");
+        }
+        lock.lock();
+        try {
+            this.syncInterval = syncInterval;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of bytes for the {@link SyncPolicy#BYTES BYTES} sync policy.
+     *
+     * @return the number of bytes
+     */
+    public long getSyncBytes() {
+        lock.lock();
+        try {
+            return syncBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Sets the number of bytes written after which data is forced for the {@link SyncPolicy#BYTES BYTES} sync policy.
+     *
+     * @param syncBytes the number of bytes
+     *
+     * @throws IllegalArgumentException if the number of bytes is less than 1
+     */
+    public void setSyncBytes(final long syncBytes) {
+        checkAccess();
+        if (syncBytes < 1L) {
+            throw new IllegalArgumentException("Sync bytes must be at least 1");
+        }
+        lock.lock();
+        try {
+            this.syncBytes = syncBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the size of each mapped region in the {@link OutputMode#MAPPED MAPPED} output mode.
+     *
+     * @return the region size in bytes
+     */
+    public int getMappedRegionSize() {
+        lock.lock();
+        try {
+            return mappedRegionSize;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Sets the size of each mapped region in the {@link OutputMode#MAPPED MAPPED} output mode. This is also the size
+     * by which the file grows whenever a new region is mapped.
+     *
+     * @param mappedRegionSize the region size in bytes
+     *
+     * @throws IllegalArgumentException if the region size is less than 1
+     */
+    public void setMappedRegionSize(final int mappedRegionSize) {
+        checkAccess();
+        if (mappedRegionSize < 1) {
+            throw new IllegalArgumentException("Mapped region size must be at least 1");
+        }
+        lock.lock();
+        try {
+            this.mappedRegionSize = mappedRegionSize;
+        } finally {
+            lock.unlock();
+        }
+    }
+
     /**
      * Set the output file.
      *
@@ -151,10 +450,20 @@ public class FileHandler extends OutputStreamHandler {
             if (parentFile != null) {
                 parentFile.mkdirs();
             }
+            if (outputMode == OutputMode.MAPPED && OS.current() != OS.WINDOWS) {
+                setMappedFile(file);
+                return;
+            }
             boolean ok = false;
             final FileOutputStream fos = new FileOutputStream(file, append);
             try {
-                final OutputStream bos = new BufferedOutputStream(fos);
+                final OutputStream bos;
+                if (outputMode == OutputMode.STREAM) {
+                    bos = new BufferedOutputStream(fos, bufferSize);
+                } else {
+                    bos = new FileChannelOutputStream(fos.getChannel(), bufferSize, directBuffer, syncPolicy,
+                            syncInterval, syncBytes);
+                }
                 try {
                     setOutputStream(bos);
                     this.file = file;
@@ -174,6 +483,35 @@ public class FileHandler extends OutputStreamHandler {
         }
     }
 
+    private void setMappedFile(final File file) throws FileNotFoundException {
+        boolean ok = false;
+        final RandomAccessFile raf = new RandomAccessFile(file, "rw");
+        try {
+            final OutputStream mos;
+            try {
+                mos = new MappedFileOutputStream(file.toPath(), raf.getChannel(), append, mappedRegionSize, syncPolicy,
+                        syncInterval, syncBytes);
+            } catch (IOException e) {
+                final FileNotFoundException fnfe = new FileNotFoundException("Failed to open " + file + ": " + e);
+                fnfe.initCause(e);
+                throw fnfe;
+            }
+            try {
+                setOutputStream(mos);
+                this.file = file;
+                ok = true;
+            } finally {
+                if (!ok) {
+                    safeClose(mos);
+                }
+            }
+        } finally {
+            if (!ok) {
+                safeClose(raf);
+            }
+        }
+    }
+
     /**
      * Get the current output file.
      *
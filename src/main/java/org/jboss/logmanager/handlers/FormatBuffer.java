@@ -0,0 +1,123 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.logmanager.handlers;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * A per-thread, reusable buffer which records are formatted into before being written. If a buffer is acquired while
+ * the thread's buffer is already in use, for example because a formatter logged something itself, a temporary buffer is
+ * returned instead.
+ */
+final class FormatBuffer {
+    private static final int INITIAL_CAPACITY = 256;
+    private static final int MAX_RETAINED_CAPACITY = 1 << 16;
+    private static final int CHUNK_SIZE = 1024;
+
+    private static final ThreadLocal<FormatBuffer> localBuffer = ThreadLocal.withInitial(FormatBuffer::new);
+
+    private StringBuilder builder = new StringBuilder(INITIAL_CAPACITY);
+    private final char[] chunk = new char[CHUNK_SIZE];
+    private boolean inUse;
+
+    private FormatBuffer() {
+    }
+
+    /**
+     * Acquire the buffer for the current thread. The buffer must be {@linkplain #release() released} after use.
+     *
+     * @return the buffer
+     */
+    static FormatBuffer acquire() {
+        final FormatBuffer buffer = localBuffer.get();
+        if (buffer.inUse) {
+            return new FormatBuffer();
+        }
+        buffer.inUse = true;
+        return buffer;
+    }
+
+    /**
+     * Get the builder to format into.
+     *
+     * @return the builder
+     */
+    StringBuilder builder() {
+        return builder;
+    }
+
+    /**
+     * Get the number of characters in the buffer.
+     *
+     * @return the number of characters
+     */
+    int length() {
+        return builder.length();
+    }
+
+    /**
+     * Write the buffer contents to the writer without creating an intermediate string.
+     *
+     * @param writer the writer
+     * @throws IOException if an error occurs while writing
+     */
+    void writeTo(final Writer writer) throws IOException {
+        writeTo(writer, 0, builder.length());
+    }
+
+    /**
+     * Write part of the buffer contents to the writer without creating an intermediate string.
+     *
+     * @param writer the writer
+     * @param start  the index of the first character to write
+     * @param end    the index after the last character to write
+     * @throws IOException if an error occurs while writing
+     */
+    void writeTo(final Writer writer, final int start, final int end) throws IOException {
+        final StringBuilder builder = this.builder;
+        if (writer instanceof EncodingWriter) {
+            // encodes directly from the builder
+            writer.append(builder, start, end);
+            return;
+        }
+        final char[] chunk = this.chunk;
+        int offset = start;
+        while (offset < end) {
+            final int chunkEnd = Math.min(end, offset + CHUNK_SIZE);
+            builder.getChars(offset, chunkEnd, chunk, 0);
+            writer.write(chunk, 0, chunkEnd - offset);
+            offset = chunkEnd;
+        }
+    }
+
+    /**
+     * Clear and release the buffer. Buffers which have grown unusually large are discarded so that one large record
+     * does not pin memory for the lifetime of the thread.
+     */
+    void release() {
+        if (builder.capacity() > MAX_RETAINED_CAPACITY) {
+            builder = new StringBuilder(INITIAL_CAPACITY);
+        } else {
+            builder.setLength(0);
+        }
+        inUse = false;
+    }
+}
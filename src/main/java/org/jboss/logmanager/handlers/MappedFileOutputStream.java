@@ -0,0 +1,197 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.logmanager.handlers;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.logmanager.handlers.FileHandler.SyncPolicy;
+
+/**
+ * An append-only output stream which writes to a file through a sliding memory-mapped region. Mapping a region grows
+ * the file by the size of the region, so writes are plain memory copies until the region is full. The file is
+ * truncated to the length of the written data when the stream is closed.
+ * <p>
+ * While the stream is open, the length of the written data is recorded in a small mapped {@code .mapped-length} file
+ * next to the file, which is deleted when the stream is closed. If the process ends without closing the stream, the
+ * file is left padded to the end of its last region; when it is opened for appending again it is truncated to the
+ * recorded length.
+ * </p>
+ * <p>
+ * This stream is not thread-safe.
+ * </p>
+ */
+final class MappedFileOutputStream extends OutputStream {
+    private static final String LENGTH_SUFFIX = ".mapped-length";
+
+    private final FileChannel channel;
+    private final Path lengthFile;
+    private final FileChannel lengthChannel;
+    private final MappedByteBuffer length;
+    private final int regionSize;
+    private final SyncPolicy syncPolicy;
+    private final long syncIntervalNanos;
+    private final long syncBytes;
+    private MappedByteBuffer region;
+    private long position;
+    private long unsyncedBytes;
+    private long lastSync;
+
+    /**
+     * Construct a new instance.
+     *
+     * @param file         the file
+     * @param channel      the channel of the file, which must be open for reading and writing
+     * @param append       {@code true} to append to the file, {@code false} to truncate it
+     * @param regionSize   the size of each mapped region
+     * @param syncPolicy   the policy which determines when written data is forced to the storage device
+     * @param syncInterval the interval, in milliseconds, for the {@link SyncPolicy#INTERVAL} policy
+     * @param syncBytes    the number of bytes for the {@link SyncPolicy#BYTES} policy
+     *
+     * @throws IOException if the file could not be prepared
+     */
+    MappedFileOutputStream(final Path file, final FileChannel channel, final boolean append, final int regionSize,
+            final SyncPolicy syncPolicy, final long syncInterval, final long syncBytes) throws IOException {
+        this.channel = channel;
+        this.regionSize = regionSize;
+        this.syncPolicy = syncPolicy;
+        syncIntervalNanos = TimeUnit.MILLISECONDS.toNanos(syncInterval);
+        this.syncBytes = syncBytes;
+        lengthFile = Paths.get(file + LENGTH_SUFFIX);
+        lengthChannel = FileChannel.open(lengthFile, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            // the length is only recorded if the file was not closed
+            final boolean recorded = lengthChannel.size() >= Long.BYTES;
+            length = lengthChannel.map(FileChannel.MapMode.READ_WRITE, 0L, Long.BYTES);
+            if (append) {
+                final long size = channel.size();
+                position = size;
+                if (recorded) {
+                    // the file was not closed, so it is still padded beyond the recorded length
+                    final long recordedLength = length.getLong(0);
+                    if (recordedLength >= 0L && recordedLength < size) {
+                        channel.truncate(recordedLength);
+                        position = recordedLength;
+                    }
+                }
+            } else {
+                channel.truncate(0L);
+            }
+            length.putLong(0, position);
+        } catch (IOException | RuntimeException e) {
+            lengthChannel.close();
+            throw e;
+        }
+        lastSync = System.nanoTime();
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+        if (region == null || !region.hasRemaining()) {
+            map();
+        }
+        region.put((byte) b);
+        length.putLong(0, ++position);
+        written(1);
+    }
+
+    @Override
+    public void write(final byte[] b, int off, final int len) throws IOException {
+        int remaining = len;
+        while (remaining > 0) {
+            if (region == null || !region.hasRemaining()) {
+                map();
+            }
+            final int n = Math.min(remaining, region.remaining());
+            region.put(b, off, n);
+            off += n;
+            remaining -= n;
+            position += n;
+        }
+        length.putLong(0, position);
+        written(len);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (unsyncedBytes > 0L && (syncPolicy == SyncPolicy.ON_FLUSH
+                || syncPolicy == SyncPolicy.INTERVAL && System.nanoTime() - lastSync >= syncIntervalNanos)) {
+            sync();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (region != null && syncPolicy != SyncPolicy.NEVER) {
+                region.force();
+            }
+            region = null;
+            // drop the preallocated space which was not written to
+            channel.truncate(position);
+            if (syncPolicy != SyncPolicy.NEVER) {
+                channel.force(true);
+            }
+            // the file now has its exact length, so the recorded length is no longer needed
+            lengthChannel.close();
+            Files.deleteIfExists(lengthFile);
+        } finally {
+            try {
+                lengthChannel.close();
+            } finally {
+                channel.close();
+            }
+        }
+    }
+
+    private void map() throws IOException {
+        if (region != null && syncPolicy != SyncPolicy.NEVER) {
+            // regions are only forced while mapped, so force the data which may not have been forced yet
+            region.force();
+            length.force();
+        }
+        region = channel.map(FileChannel.MapMode.READ_WRITE, position, regionSize);
+    }
+
+    private void written(final int bytes) {
+        unsyncedBytes += bytes;
+        if (syncPolicy == SyncPolicy.BYTES && unsyncedBytes >= syncBytes
+                || syncPolicy == SyncPolicy.INTERVAL && System.nanoTime() - lastSync >= syncIntervalNanos) {
+            sync();
+        }
+    }
+
+    private void sync() {
+        if (region != null) {
+            region.force();
+        }
+        length.force();
+        unsyncedBytes = 0L;
+        lastSync = System.nanoTime();
+    }
+}
@@ -148,6 +148,11 @@ public class OutputStreamHandler extends WriterHandler {
             return null;
         final UninterruptibleOutputStream outputStream = new UninterruptibleOutputStream(
                 new UncloseableOutputStream(newOutputStream));
-        return new OutputStreamWriter(outputStream, getCharset());
+        final Charset charset = getCharset();
+        if (EncodingWriter.isSupported(charset)) {
+            // encode straight into a byte buffer, skipping the JDK writer stack
+            return new EncodingWriter(outputStream, charset);
+        }
+        return new OutputStreamWriter(outputStream, charset);
     }
 }
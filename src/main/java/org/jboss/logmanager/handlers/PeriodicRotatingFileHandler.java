@@ -48,6 +48,10 @@ public class PeriodicRotatingFileHandler extends FileHandler {
     private Instant nextRollover = Instant.MAX;
     private TimeZone timeZone = TimeZone.getDefault();
     private SuffixRotator suffixRotator = SuffixRotator.EMPTY;
+    private boolean asyncCompression;
+    // the file and rotator for which staged files were last resumed
+    private File resumedFile;
+    private SuffixRotator resumedRotator;
 
     /**
      * Construct a new instance with no formatter and no output file.
@@ -120,6 +124,7 @@ public class PeriodicRotatingFileHandler extends FileHandler {
 
     /** {@inheritDoc} This implementation checks to see if the scheduled rollover time has yet occurred. */
     protected void preWrite(final ExtLogRecord record) {
+        resumeStaged();
         Instant recordInstant = record.getInstant();
         if (!recordInstant.isBefore(nextRollover)) {
             rollOver();
@@ -186,7 +191,7 @@ public class PeriodicRotatingFileHandler extends FileHandler {
         try {
             this.format = format;
             this.period = period;
-            this.suffixRotator = suffixRotator;
+            this.suffixRotator = suffixRotator.withAsyncCompression(asyncCompression);
             final Instant now;
             final File file = getFile();
             if (file != null && file.lastModified() > 0) {
@@ -200,6 +205,51 @@ public class PeriodicRotatingFileHandler extends FileHandler {
         }
     }
 
+    /**
+     * Indicates whether rotated files are compressed in the background.
+     *
+     * @return {@code true} if rotated files are compressed in the background, otherwise {@code false}
+     */
+    public boolean isAsyncCompression() {
+        lock.lock();
+        try {
+            return asyncCompression;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Set to {@code true} to compress rotated files in the background. The rotation then only renames the file and
+     * logging continues while the file is compressed. This only has an effect if the {@linkplain #setSuffix(String)
+     * suffix} ends with {@code .gz} or {@code .zip}.
+     * <p>
+     * Closing the handler waits for any pending compression of its file to complete. Files which were left uncompressed
+     * because the process stopped first are compressed before the next record is written.
+     * </p>
+     *
+     * @param asyncCompression {@code true} to compress rotated files in the background
+     */
+    public void setAsyncCompression(final boolean asyncCompression) {
+        checkAccess();
+        lock.lock();
+        try {
+            this.asyncCompression = asyncCompression;
+            this.suffixRotator = suffixRotator.withAsyncCompression(asyncCompression);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws SecurityException {
+        final File file = getFile();
+        super.close();
+        if (file != null) {
+            SuffixRotator.awaitArchives(file.toPath());
+        }
+    }
+
     /**
      * Returns the suffix to be used.
      *
@@ -209,6 +259,29 @@ public class PeriodicRotatingFileHandler extends FileHandler {
         return nextSuffix;
     }
 
+    /**
+     * Returns the maximum number of backups kept for each suffix, or 0 if rotated files are not indexed.
+     *
+     * @return the maximum backup index
+     */
+    int getStagedBackupIndex() {
+        return 0;
+    }
+
+    /**
+     * Resumes the compression of files which were staged for compression but never compressed, once for each file
+     * and suffix. This is done before the first write rather than when the file is set, as the suffix and the backup
+     * index may only be configured afterwards. Must only be called while the lock is held.
+     */
+    private void resumeStaged() {
+        final File file = getFile();
+        if (file != null && (file != resumedFile || suffixRotator != resumedRotator)) {
+            resumedFile = file;
+            resumedRotator = suffixRotator;
+            suffixRotator.resumeStaged(SecurityActions.getErrorManager(acc, this), file.toPath(), getStagedBackupIndex());
+        }
+    }
+
     /**
      * Returns the file rotator for this handler.
      *
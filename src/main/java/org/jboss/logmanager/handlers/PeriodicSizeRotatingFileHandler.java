@@ -237,6 +237,11 @@ public class PeriodicSizeRotatingFileHandler extends PeriodicRotatingFileHandler
         }
     }
 
+    @Override
+    int getStagedBackupIndex() {
+        return maxBackupIndex;
+    }
+
     @Override
     protected void preWrite(final ExtLogRecord record) {
         super.preWrite(record);
@@ -0,0 +1,311 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.logmanager.handlers;
+
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
+
+import org.jboss.logmanager.handlers.AsyncHandler.WaitStrategy;
+
+/**
+ * A bounded, preallocated, lock-free multi-producer single-consumer queue backed by a ring buffer.
+ * <p>
+ * Each slot carries a sequence number which producers claim by advancing the shared tail with a single CAS, so
+ * producers never contend on a lock. Only one thread may consume from this queue at a time. The capacity is rounded
+ * up to the next power of two.
+ * </p>
+ *
+ * @param <E> the element type
+ */
+final class RingBufferQueue<E> extends AbstractQueue<E> implements BlockingQueue<E> {
+
+    private static final long PARK_NANOS = 50_000L;
+
+    private static final AtomicLongFieldUpdater<RingBufferQueue> tailUpdater = AtomicLongFieldUpdater
+            .newUpdater(RingBufferQueue.class, "tail");
+    private static final AtomicLongFieldUpdater<RingBufferQueue> headUpdater = AtomicLongFieldUpdater
+            .newUpdater(RingBufferQueue.class, "head");
+
+    private final Object[] elements;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final WaitStrategy waitStrategy;
+
+    @SuppressWarnings("unused")
+    private volatile long tail;
+    @SuppressWarnings("unused")
+    private volatile long head;
+    private volatile Thread waitingConsumer;
+
+    /**
+     * Construct a new instance.
+     *
+     * @param capacity     the minimum capacity of the queue
+     * @param waitStrategy the strategy used when the consumer waits for records or a producer waits for free space
+     */
+    RingBufferQueue(final int capacity, final WaitStrategy waitStrategy) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be at least 1");
+        }
+        if (capacity > 1 << 30) {
+            throw new IllegalArgumentException("capacity is too large");
+        }
+        final int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        elements = new Object[size];
+        sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+        mask = size - 1;
+        this.waitStrategy = Objects.requireNonNull(waitStrategy, "waitStrategy");
+    }
+
+    /**
+     * Get the actual capacity of this queue.
+     *
+     * @return the capacity
+     */
+    int capacity() {
+        return mask + 1;
+    }
+
+    @Override
+    public boolean offer(final E e) {
+        Objects.requireNonNull(e);
+        long pos = tail;
+        for (;;) {
+            final int idx = (int) pos & mask;
+            final long dif = sequences.get(idx) - pos;
+            if (dif == 0) {
+                if (tailUpdater.compareAndSet(this, pos, pos + 1)) {
+                    elements[idx] = e;
+                    sequences.set(idx, pos + 1);
+                    if (waitStrategy == WaitStrategy.BLOCK) {
+                        final Thread consumer = waitingConsumer;
+                        if (consumer != null) {
+                            LockSupport.unpark(consumer);
+                        }
+                    }
+                    return true;
+                }
+                pos = tail;
+            } else if (dif < 0) {
+                // the slot still holds the record from the previous lap; the queue is full
+                return false;
+            } else {
+                pos = tail;
+            }
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E poll() {
+        final long pos = head;
+        final int idx = (int) pos & mask;
+        if (sequences.get(idx) != pos + 1) {
+            return null;
+        }
+        final E e = (E) elements[idx];
+        elements[idx] = null;
+        sequences.set(idx, pos + mask + 1);
+        headUpdater.lazySet(this, pos + 1);
+        return e;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E peek() {
+        final long pos = head;
+        final int idx = (int) pos & mask;
+        return sequences.get(idx) == pos + 1 ? (E) elements[idx] : null;
+    }
+
+    @Override
+    public void put(final E e) throws InterruptedException {
+        while (!offer(e)) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            idleProducer(PARK_NANOS);
+        }
+    }
+
+    @Override
+    public boolean offer(final E e, final long timeout, final TimeUnit unit) throws InterruptedException {
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (!offer(e)) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            final long remaining = deadline - System.nanoTime();
+            if (remaining <= 0L) {
+                return false;
+            }
+            idleProducer(Math.min(remaining, PARK_NANOS));
+        }
+        return true;
+    }
+
+    @Override
+    public E take() throws InterruptedException {
+        final E e = poll();
+        return e == null ? awaitElement(false, 0L) : e;
+    }
+
+    @Override
+    public E poll(final long timeout, final TimeUnit unit) throws InterruptedException {
+        final E e = poll();
+        return e == null ? awaitElement(true, unit.toNanos(timeout)) : e;
+    }
+
+    @Override
+    public int remainingCapacity() {
+        return capacity() - size();
+    }
+
+    @Override
+    public int drainTo(final Collection<? super E> c) {
+        return drainTo(c, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int drainTo(final Collection<? super E> c, final int maxElements) {
+        Objects.requireNonNull(c);
+        if (c == this) {
+            throw new IllegalArgumentException();
+        }
+        int n = 0;
+        E e;
+        while (n < maxElements && (e = poll()) != null) {
+            c.add(e);
+            n++;
+        }
+        return n;
+    }
+
+    @Override
+    public int size() {
+        final long head = this.head;
+        final long size = tail - head;
+        return size < 0L ? 0 : (int) Math.min(size, capacity());
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return peek() == null;
+    }
+
+    /**
+     * Returns a weakly consistent, read-only iterator over a snapshot of the records currently in the queue.
+     *
+     * @return the iterator
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public Iterator<E> iterator() {
+        final List<E> snapshot = new ArrayList<>();
+        final long tail = this.tail;
+        for (long pos = head; pos < tail; pos++) {
+            final int idx = (int) pos & mask;
+            if (sequences.get(idx) == pos + 1) {
+                final Object e = elements[idx];
+                if (e != null) {
+                    snapshot.add((E) e);
+                }
+            }
+        }
+        return Collections.unmodifiableList(snapshot).iterator();
+    }
+
+    private E awaitElement(final boolean timed, final long nanos) throws InterruptedException {
+        final long deadline = timed ? System.nanoTime() + nanos : 0L;
+        long remaining = nanos;
+        E e;
+        while ((e = poll()) == null) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            if (timed) {
+                remaining = deadline - System.nanoTime();
+                if (remaining <= 0L) {
+                    return null;
+                }
+            }
+            switch (waitStrategy) {
+                case SPIN: {
+                    Thread.onSpinWait();
+                    break;
+                }
+                case YIELD: {
+                    Thread.yield();
+                    break;
+                }
+                case PARK: {
+                    LockSupport.parkNanos(this, timed ? Math.min(remaining, PARK_NANOS) : PARK_NANOS);
+                    break;
+                }
+                default: {
+                    // publish ourselves before re-checking so a producer either sees us or we see its record
+                    waitingConsumer = Thread.currentThread();
+                    try {
+                        if (isEmpty()) {
+                            if (timed) {
+                                LockSupport.parkNanos(this, remaining);
+                            } else {
+                                LockSupport.park(this);
+                            }
+                        }
+                    } finally {
+                        waitingConsumer = null;
+                    }
+                }
+            }
+        }
+        return e;
+    }
+
+    private void idleProducer(final long nanos) {
+        switch (waitStrategy) {
+            case SPIN: {
+                Thread.onSpinWait();
+                break;
+            }
+            case YIELD: {
+                Thread.yield();
+                break;
+            }
+            default: {
+                // the consumer does not track blocked producers, so they back off with a short timed park
+                LockSupport.parkNanos(this, nanos);
+            }
+        }
+    }
+}
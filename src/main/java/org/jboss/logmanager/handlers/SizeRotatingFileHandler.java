@@ -38,7 +38,11 @@ public class SizeRotatingFileHandler extends FileHandler {
     private int maxBackupIndex = 1;
     private CountingOutputStream outputStream;
     private boolean rotateOnBoot;
+    private boolean asyncCompression;
     private SuffixRotator suffixRotator = SuffixRotator.EMPTY;
+    // the file and rotator for which staged files were last resumed
+    private File resumedFile;
+    private SuffixRotator resumedRotator;
 
     /**
      * Construct a new instance with no formatter and no output file.
@@ -255,14 +259,60 @@ public class SizeRotatingFileHandler extends FileHandler {
         checkAccess();
         lock.lock();
         try {
-            this.suffixRotator = SuffixRotator.parse(acc, suffix);
+            this.suffixRotator = SuffixRotator.parse(acc, suffix).withAsyncCompression(asyncCompression);
         } finally {
             lock.unlock();
         }
     }
 
+    /**
+     * Indicates whether rotated files are compressed in the background.
+     *
+     * @return {@code true} if rotated files are compressed in the background, otherwise {@code false}
+     */
+    public boolean isAsyncCompression() {
+        lock.lock();
+        try {
+            return asyncCompression;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Set to {@code true} to compress rotated files in the background. The rotation then only renames the file and
+     * logging continues while the file is compressed. This only has an effect if the {@linkplain #setSuffix(String)
+     * suffix} ends with {@code .gz} or {@code .zip}.
+     * <p>
+     * Closing the handler waits for any pending compression of its file to complete. Files which were left uncompressed
+     * because the process stopped first are compressed before the next record is written.
+     * </p>
+     *
+     * @param asyncCompression {@code true} to compress rotated files in the background
+     */
+    public void setAsyncCompression(final boolean asyncCompression) {
+        checkAccess();
+        lock.lock();
+        try {
+            this.asyncCompression = asyncCompression;
+            this.suffixRotator = suffixRotator.withAsyncCompression(asyncCompression);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws SecurityException {
+        final File file = getFile();
+        super.close();
+        if (file != null) {
+            SuffixRotator.awaitArchives(file.toPath());
+        }
+    }
+
     /** {@inheritDoc} */
     protected void preWrite(final ExtLogRecord record) {
+        resumeStaged();
         final int maxBackupIndex = this.maxBackupIndex;
         final long currentSize = (outputStream == null ? Long.MIN_VALUE : outputStream.currentSize);
         if (currentSize > rotateSize && maxBackupIndex > 0) {
@@ -283,6 +333,20 @@ public class SizeRotatingFileHandler extends FileHandler {
         }
     }
 
+    /**
+     * Resumes the compression of files which were staged for compression but never compressed, once for each file
+     * and suffix. This is done before the first write rather than when the file is set, as the suffix may only be
+     * configured afterwards. Must only be called while the lock is held.
+     */
+    private void resumeStaged() {
+        final File file = getFile();
+        if (file != null && (file != resumedFile || suffixRotator != resumedRotator)) {
+            resumedFile = file;
+            resumedRotator = suffixRotator;
+            suffixRotator.resumeStaged(SecurityActions.getErrorManager(acc, this), file.toPath(), maxBackupIndex);
+        }
+    }
+
     private void setFileInternal(final File file, final boolean doPrivileged) throws FileNotFoundException {
         if (System.getSecurityManager() == null || !doPrivileged) {
             super.setFile(file);
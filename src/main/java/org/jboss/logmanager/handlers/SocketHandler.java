@@ -28,6 +28,7 @@ import java.io.UnsupportedEncodingException;
 import java.io.Writer;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
+import java.util.List;
 import java.util.logging.ErrorManager;
 import java.util.logging.Formatter;
 
@@ -226,6 +227,57 @@ public class SocketHandler extends ExtHandler {
         }
     }
 
+    /**
+     * {@inheritDoc} The records are formatted first and then written while holding the lock once, flushing only after
+     * the last record has been written. UDP records are still sent one datagram per record.
+     */
+    @Override
+    protected void doPublishBatch(final List<ExtLogRecord> records) {
+        if (getProtocol() == Protocol.UDP) {
+            super.doPublishBatch(records);
+            return;
+        }
+        final StringBuilder formatted = new StringBuilder();
+        ExtLogRecord last = null;
+        final Formatter formatter = getFormatter();
+        for (ExtLogRecord record : records) {
+            if (record == null || !isLoggable(record)) {
+                continue;
+            }
+            try {
+                final String result = formatter.format(record);
+                if (!result.isEmpty()) {
+                    formatted.append(result);
+                    last = record;
+                }
+            } catch (Exception e) {
+                reportError("Could not format message", e, ErrorManager.FORMAT_FAILURE);
+            }
+        }
+        if (last == null) {
+            // nothing to write; move along
+            return;
+        }
+        try {
+            lock.lock();
+            try {
+                if (initialize) {
+                    initialize();
+                    initialize = false;
+                }
+                if (writer == null) {
+                    return;
+                }
+                writer.write(formatted.toString());
+                super.doPublish(last);
+            } finally {
+                lock.unlock();
+            }
+        } catch (Exception e) {
+            reportError("Error writing log message", e, ErrorManager.WRITE_FAILURE);
+        }
+    }
+
     @Override
     public void flush() {
         lock.lock();
@@ -24,6 +24,10 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.CopyOption;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -31,16 +35,40 @@ import java.nio.file.StandardCopyOption;
 import java.security.AccessControlContext;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
+import java.security.PrivilegedActionException;
+import java.security.PrivilegedExceptionAction;
+import java.text.ParsePosition;
 import java.text.SimpleDateFormat;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.Date;
+import java.util.List;
 import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.ErrorManager;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.zip.GZIPOutputStream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 
 /**
  * A utility for rotating files based on a files suffix.
+ * <p>
+ * If {@linkplain #withAsyncCompression(boolean) asynchronous compression} is enabled the rotation only renames the
+ * file to a {@code .pending} staging file. Compressing the staged file and moving previously rotated files happens on
+ * a shared background executor, in order for each file. Archives are written to a {@code .tmp} file which is only
+ * renamed to the final name once complete, so an interrupted compression never leaves a truncated archive behind.
+ * Staging files left behind when the process stops before they are compressed are
+ * {@linkplain #resumeStaged(ErrorManager, Path, int) resumed} when the handler opens the file again.
+ * </p>
  *
  * @author <a href="mailto:jperkins@redhat.com">James R. Perkins</a>
  */
@@ -58,7 +86,25 @@ class SuffixRotator {
     /**
      * An empty rotation suffix.
      */
-    static final SuffixRotator EMPTY = new SuffixRotator(AccessController.getContext(), "", "", "", CompressionType.NONE);
+    static final SuffixRotator EMPTY = new SuffixRotator(AccessController.getContext(), "", "", "", CompressionType.NONE,
+            false);
+
+    private static final String PENDING_SUFFIX = ".pending";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final Pattern PENDING_PATTERN = Pattern.compile("\\.pending(?:\\.(\\d+))?$");
+
+    /**
+     * The pending archive tasks for each rotated file, keyed by the absolute path of the file. A queue is removed once
+     * it has no more tasks to run.
+     */
+    private static final ConcurrentMap<Path, ArchiveQueue> archiveQueues = new ConcurrentHashMap<>();
+
+    /**
+     * The absolute paths of the staging files which are being staged or are queued for compression, by any rotator. A
+     * staging file is claimed before it is created or resumed and released once its archive task has run, so a
+     * staging file is never compressed twice.
+     */
+    private static final Set<Path> claimedFiles = ConcurrentHashMap.newKeySet();
 
     private final AccessControlContext acc;
     private final String originalSuffix;
@@ -66,14 +112,16 @@ class SuffixRotator {
     private final SimpleDateFormat formatter;
     private final String compressionSuffix;
     private final CompressionType compressionType;
+    private final boolean asyncCompression;
 
     private SuffixRotator(final AccessControlContext acc, final String originalSuffix, final String datePattern,
-            final String compressionSuffix, final CompressionType compressionType) {
+            final String compressionSuffix, final CompressionType compressionType, final boolean asyncCompression) {
         this.acc = acc;
         this.originalSuffix = originalSuffix;
         this.datePattern = datePattern;
         this.compressionSuffix = compressionSuffix;
         this.compressionType = compressionType;
+        this.asyncCompression = asyncCompression;
         if (datePattern.isEmpty()) {
             formatter = null;
         } else {
@@ -111,9 +159,40 @@ class SuffixRotator {
             }
         }
         if (compressionSuffix.isEmpty() && datePattern.isEmpty()) {
-            return new SuffixRotator(acc, suffix, suffix, "", CompressionType.NONE);
+            return new SuffixRotator(acc, suffix, suffix, "", CompressionType.NONE, false);
+        }
+        return new SuffixRotator(acc, suffix, datePattern, compressionSuffix, compressionType, false);
+    }
+
+    /**
+     * Returns a rotator which compresses rotated files in the background if {@code asyncCompression} is
+     * {@code true}. Rotators which do not compress are returned as is.
+     *
+     * @param asyncCompression {@code true} to compress rotated files in the background
+     *
+     * @return the file rotator
+     */
+    SuffixRotator withAsyncCompression(final boolean asyncCompression) {
+        if (this.asyncCompression == asyncCompression || compressionType == CompressionType.NONE) {
+            return this;
+        }
+        return new SuffixRotator(acc, originalSuffix, datePattern, compressionSuffix, compressionType, asyncCompression);
+    }
+
+    /**
+     * Waits for any pending background compression of previously rotated versions of the file to complete.
+     *
+     * @param source the file which was rotated
+     */
+    static void awaitArchives(final Path source) {
+        final ArchiveQueue queue = archiveQueues.get(source.toAbsolutePath());
+        if (queue != null) {
+            try {
+                queue.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
         }
-        return new SuffixRotator(acc, suffix, datePattern, compressionSuffix, compressionType);
     }
 
     /**
@@ -160,26 +239,16 @@ class SuffixRotator {
      */
     void rotate(final ErrorManager errorManager, final Path source, final String suffix) {
         final Path target = Paths.get(source + suffix + compressionSuffix);
-        if (compressionType == CompressionType.GZIP) {
-            try {
-                archiveGzip(source, target);
-                // Delete the file after it's archived to behave like a file move or rename
-                deleteFile(source);
-            } catch (Exception e) {
-                errorManager.error(String.format("Failed to compress %s to %s. Compressed file may be left on the " +
-                        "filesystem corrupted.", source, target), e, ErrorManager.WRITE_FAILURE);
-            }
-        } else if (compressionType == CompressionType.ZIP) {
-            try {
-                archiveZip(source, target);
-                // Delete the file after it's archived to behave like a file move or rename
-                deleteFile(source);
-            } catch (Exception e) {
-                errorManager.error(String.format("Failed to compress %s to %s. Compressed file may be left on the " +
-                        "filesystem corrupted.", source, target), e, ErrorManager.WRITE_FAILURE);
+        if (compressionType == CompressionType.NONE) {
+            move(errorManager, source, target);
+        } else if (asyncCompression) {
+            final String entryName = source.getFileName().toString();
+            final Path staged = stage(errorManager, source, source + suffix);
+            if (staged != null) {
+                submit(source, staged, () -> archive(errorManager, staged, target, entryName));
             }
         } else {
-            move(errorManager, source, target);
+            archive(errorManager, source, target, source.getFileName().toString());
         }
     }
 
@@ -225,30 +294,195 @@ class SuffixRotator {
         if (maxBackupIndex > 0) {
             final String rotationSuffix = (suffix == null ? "" : suffix);
             final String fileWithSuffix = source.toAbsolutePath() + rotationSuffix;
-            final Path lastFile = Paths.get(fileWithSuffix + "." + maxBackupIndex + compressionSuffix);
-            try {
-                deleteFile(lastFile);
-            } catch (Exception e) {
-                errorManager.error(String.format("Failed to delete file %s", lastFile), e, ErrorManager.GENERIC_FAILURE);
-            }
-            for (int i = maxBackupIndex - 1; i >= 1; i--) {
-                final Path src = Paths.get(fileWithSuffix + "." + i + compressionSuffix);
-                if (fileExists(src)) {
-                    final Path target = Paths.get(fileWithSuffix + "." + (i + 1) + compressionSuffix);
-                    move(errorManager, src, target);
+            if (asyncCompression && compressionType != CompressionType.NONE) {
+                // the previously rotated files are moved in the background as earlier archives may still be pending
+                final String entryName = source.getFileName().toString();
+                final Path staged = stage(errorManager, source, fileWithSuffix);
+                if (staged != null) {
+                    final Path target = Paths.get(fileWithSuffix + ".1" + compressionSuffix);
+                    submit(source, staged, () -> {
+                        shiftBackups(errorManager, fileWithSuffix, maxBackupIndex);
+                        archive(errorManager, staged, target, entryName);
+                    });
                 }
+            } else {
+                shiftBackups(errorManager, fileWithSuffix, maxBackupIndex);
+                rotate(errorManager, source, rotationSuffix + ".1");
             }
-            rotate(errorManager, source, rotationSuffix + ".1");
         } else if (suffix != null && !suffix.isEmpty()) {
             rotate(errorManager, source, suffix);
         }
     }
 
+    /**
+     * Finishes the rotation of files which were staged for background compression but never compressed, for example
+     * because the process stopped first. Each staged file is handled as the rotation which staged it would have
+     * handled it: if the {@code maxBackupIndex} is greater than 0 the previously rotated files are moved and the
+     * staged file becomes the first backup, otherwise it is compressed to the name it was staged for. Only files
+     * staged for the source file itself, optionally followed by a suffix in this rotators date pattern, are resumed.
+     * Staged files are resumed oldest first, and files which are already queued for compression are left alone.
+     *
+     * @param errorManager   the error manager used to report errors to
+     * @param source         the file which is rotated
+     * @param maxBackupIndex the number of backups to keep
+     */
+    void resumeStaged(final ErrorManager errorManager, final Path source, final int maxBackupIndex) {
+        if (this == EMPTY) {
+            // the name the files were staged for is not known yet
+            return;
+        }
+        final Path file = source.toAbsolutePath();
+        final String entryName = file.getFileName().toString();
+        final List<StagedFile> stagedFiles = new ArrayList<>();
+        try {
+            for (Path path : listDirectory(file.getParent())) {
+                final String name = path.getFileName().toString();
+                final Matcher matcher = PENDING_PATTERN.matcher(name);
+                if (name.startsWith(entryName) && matcher.find()
+                        && isRotationSuffix(name.substring(entryName.length(), matcher.start()))) {
+                    final String index = matcher.group(1);
+                    stagedFiles.add(new StagedFile(path.toAbsolutePath(), path.toString().substring(0,
+                            path.toString().length() - matcher.group().length()),
+                            index == null ? 0 : Integer.parseInt(index)));
+                }
+            }
+        } catch (Exception e) {
+            errorManager.error(String.format("Failed to find files staged for compression for %s", file), e,
+                    ErrorManager.GENERIC_FAILURE);
+            return;
+        }
+        // files claimed by another rotator, or already compressed since the directory was listed, are skipped
+        stagedFiles.removeIf(stagedFile -> !claim(stagedFile.path));
+        stagedFiles.sort(Comparator.comparingInt(stagedFile -> stagedFile.index));
+        for (StagedFile stagedFile : stagedFiles) {
+            final Path staged = stagedFile.path;
+            final String baseName = stagedFile.baseName;
+            if (maxBackupIndex > 0) {
+                final Path target = Paths.get(baseName + ".1" + compressionSuffix);
+                submit(file, staged, () -> {
+                    shiftBackups(errorManager, baseName, maxBackupIndex);
+                    finish(errorManager, staged, target, entryName);
+                });
+            } else {
+                final Path target = Paths.get(baseName + compressionSuffix);
+                submit(file, staged, () -> finish(errorManager, staged, target, entryName));
+            }
+        }
+    }
+
     @Override
     public String toString() {
         return originalSuffix;
     }
 
+    /**
+     * Checks whether the text is a suffix this rotator appends to the file before staging it: empty if there is no
+     * date pattern, otherwise text which fully parses with the date pattern.
+     */
+    private boolean isRotationSuffix(final String suffix) {
+        if (formatter == null) {
+            return suffix.isEmpty();
+        }
+        final ParsePosition position = new ParsePosition(0);
+        synchronized (formatter) {
+            formatter.parse(suffix, position);
+        }
+        return position.getErrorIndex() == -1 && position.getIndex() == suffix.length();
+    }
+
+    /**
+     * Claims an existing staging file for this rotator.
+     *
+     * @return {@code true} if the file was claimed, {@code false} if it is already claimed or no longer exists
+     */
+    private boolean claim(final Path staged) {
+        if (!claimedFiles.add(staged)) {
+            return false;
+        }
+        if (fileExists(staged)) {
+            return true;
+        }
+        claimedFiles.remove(staged);
+        return false;
+    }
+
+    private void shiftBackups(final ErrorManager errorManager, final String fileWithSuffix, final int maxBackupIndex) {
+        final Path lastFile = Paths.get(fileWithSuffix + "." + maxBackupIndex + compressionSuffix);
+        try {
+            deleteFile(lastFile);
+        } catch (Exception e) {
+            errorManager.error(String.format("Failed to delete file %s", lastFile), e, ErrorManager.GENERIC_FAILURE);
+        }
+        for (int i = maxBackupIndex - 1; i >= 1; i--) {
+            final Path src = Paths.get(fileWithSuffix + "." + i + compressionSuffix);
+            if (fileExists(src)) {
+                final Path target = Paths.get(fileWithSuffix + "." + (i + 1) + compressionSuffix);
+                move(errorManager, src, target);
+            }
+        }
+    }
+
+    /**
+     * Renames the file to a staging file which is compressed in the background. An existing staging file, for example
+     * one left behind by a crash, is never replaced. The staging file is claimed before the file is renamed and stays
+     * claimed until its archive task has run.
+     *
+     * @return the staging file or {@code null} if the file could not be renamed
+     */
+    private Path stage(final ErrorManager errorManager, final Path source, final String baseName) {
+        Path staged = Paths.get(baseName + PENDING_SUFFIX).toAbsolutePath();
+        for (int i = 1;; i++) {
+            if (claimedFiles.add(staged)) {
+                try {
+                    moveFile(source, staged);
+                    return staged;
+                } catch (FileAlreadyExistsException e) {
+                    claimedFiles.remove(staged);
+                } catch (Exception e) {
+                    claimedFiles.remove(staged);
+                    errorManager.error(String.format("Failed to move file %s to %s.", source, staged), e,
+                            ErrorManager.GENERIC_FAILURE);
+                    return null;
+                }
+            }
+            staged = Paths.get(baseName + PENDING_SUFFIX + "." + i).toAbsolutePath();
+        }
+    }
+
+    private void archive(final ErrorManager errorManager, final Path source, final Path target, final String entryName) {
+        final Path temp = Paths.get(target + TEMP_SUFFIX);
+        try {
+            if (compressionType == CompressionType.GZIP) {
+                archiveGzip(source, temp);
+            } else {
+                archiveZip(source, temp, entryName);
+            }
+            try {
+                moveFile(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                moveFile(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            // Delete the file after it's archived to behave like a file move or rename
+            deleteFile(source);
+        } catch (Exception e) {
+            errorManager.error(String.format("Failed to compress %s to %s.", source, target), e,
+                    ErrorManager.WRITE_FAILURE);
+            try {
+                deleteFile(temp);
+            } catch (Exception ignore) {
+            }
+        }
+    }
+
+    private void finish(final ErrorManager errorManager, final Path staged, final Path target, final String entryName) {
+        if (compressionType == CompressionType.NONE) {
+            // compression has been disabled since the file was staged
+            move(errorManager, staged, target);
+        } else {
+            archive(errorManager, staged, target, entryName);
+        }
+    }
+
     private void move(final ErrorManager errorManager, final Path src, final Path target) {
         if (System.getSecurityManager() == null) {
             try {
@@ -276,10 +510,10 @@ class SuffixRotator {
         }
     }
 
-    private void archiveZip(final Path source, final Path target) throws IOException {
+    private void archiveZip(final Path source, final Path target, final String entryName) throws IOException {
         final byte[] buff = new byte[512];
         try (final ZipOutputStream out = new ZipOutputStream(newOutputStream(target), StandardCharsets.UTF_8)) {
-            final ZipEntry entry = new ZipEntry(source.getFileName().toString());
+            final ZipEntry entry = new ZipEntry(entryName);
             out.putNextEntry(entry);
             try (final InputStream in = newInputStream(source)) {
                 int len;
@@ -299,6 +533,19 @@ class SuffixRotator {
         return AccessController.doPrivileged(new DeleteFileAction(path), acc);
     }
 
+    private void moveFile(final Path src, final Path target, final CopyOption... options) throws IOException {
+        if (System.getSecurityManager() == null) {
+            Files.move(src, target, options);
+        } else {
+            try {
+                AccessController.doPrivileged((PrivilegedExceptionAction<Path>) () -> Files.move(src, target, options),
+                        acc);
+            } catch (PrivilegedActionException e) {
+                throw (IOException) e.getCause();
+            }
+        }
+    }
+
     private boolean fileExists(final Path file) {
         if (System.getSecurityManager() == null) {
             return Files.exists(file);
@@ -306,6 +553,27 @@ class SuffixRotator {
         return AccessController.doPrivileged(new FileExistsAction(file), acc);
     }
 
+    private List<Path> listDirectory(final Path dir) throws IOException {
+        if (System.getSecurityManager() == null) {
+            return list(dir);
+        }
+        try {
+            return AccessController.doPrivileged((PrivilegedExceptionAction<List<Path>>) () -> list(dir), acc);
+        } catch (PrivilegedActionException e) {
+            throw (IOException) e.getCause();
+        }
+    }
+
+    private static List<Path> list(final Path dir) throws IOException {
+        final List<Path> paths = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir)) {
+            for (Path path : stream) {
+                paths.add(path);
+            }
+        }
+        return paths;
+    }
+
     private InputStream newInputStream(final Path file) throws IOException {
         if (System.getSecurityManager() == null) {
             return Files.newInputStream(file);
@@ -320,6 +588,133 @@ class SuffixRotator {
         return AccessController.doPrivileged(new OutputStreamAction(file), acc);
     }
 
+    /**
+     * Queues the archive task for a claimed staging file. The staging file is released once the task has run.
+     */
+    private static void submit(final Path source, final Path staged, final Runnable task) {
+        final Path key = source.toAbsolutePath();
+        final Runnable releasingTask = () -> {
+            try {
+                task.run();
+            } finally {
+                claimedFiles.remove(staged);
+            }
+        };
+        for (;;) {
+            // a queue which has just become idle may have been removed, in which case a new one is created
+            if (archiveQueues.computeIfAbsent(key, ArchiveQueue::new).submit(releasingTask)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Runs the archive tasks for a single file one at a time, in submission order, on the shared archive executor.
+     * Once it runs out of tasks the queue is removed and no longer accepts tasks.
+     */
+    private static class ArchiveQueue implements Runnable {
+        private final Path source;
+        // Guarded by this
+        private final ArrayDeque<Runnable> tasks = new ArrayDeque<>();
+        // Guarded by this
+        private boolean running;
+        // Guarded by this
+        private boolean removed;
+
+        ArchiveQueue(final Path source) {
+            this.source = source;
+        }
+
+        boolean submit(final Runnable task) {
+            synchronized (this) {
+                if (removed) {
+                    return false;
+                }
+                tasks.add(task);
+                if (running) {
+                    return true;
+                }
+                running = true;
+            }
+            ArchiveExecutor.INSTANCE.execute(this);
+            return true;
+        }
+
+        void await() throws InterruptedException {
+            synchronized (this) {
+                while (running) {
+                    wait();
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            for (;;) {
+                final Runnable task;
+                synchronized (this) {
+                    task = tasks.poll();
+                    if (task == null) {
+                        running = false;
+                        removed = true;
+                        archiveQueues.remove(source, this);
+                        notifyAll();
+                        return;
+                    }
+                }
+                try {
+                    task.run();
+                } catch (RuntimeException ignore) {
+                    // errors are reported to the handlers error manager by the task
+                }
+            }
+        }
+    }
+
+    private static class StagedFile {
+        final Path path;
+        // the name the file was staged for
+        final String baseName;
+        final int index;
+
+        StagedFile(final Path path, final String baseName, final int index) {
+            this.path = path;
+            this.baseName = baseName;
+            this.index = index;
+        }
+    }
+
+    /**
+     * The executor shared by all rotators. The number of threads is bounded so that compressing many files at once
+     * does not compete with the application for every processor. The threads are created with the permissions of
+     * this library and without a context class loader, so they do not pin the class loader of whichever application
+     * happened to rotate a file first.
+     */
+    private static class ArchiveExecutor {
+        static final ThreadPoolExecutor INSTANCE;
+
+        static {
+            final int threads = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2));
+            final AtomicInteger count = new AtomicInteger();
+            INSTANCE = new ThreadPoolExecutor(threads, threads, 30L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                    r -> {
+                        if (System.getSecurityManager() == null) {
+                            return createThread(r, count.incrementAndGet());
+                        }
+                        return AccessController.doPrivileged(
+                                (PrivilegedAction<Thread>) () -> createThread(r, count.incrementAndGet()));
+                    });
+            INSTANCE.allowCoreThreadTimeOut(true);
+        }
+
+        private static Thread createThread(final Runnable r, final int id) {
+            final Thread thread = new Thread(r, "logmanager-archive-" + id);
+            thread.setDaemon(true);
+            thread.setContextClassLoader(null);
+            return thread;
+        }
+    }
+
     private static class DeleteFileAction implements PrivilegedAction<Boolean> {
         private final Path file;
 
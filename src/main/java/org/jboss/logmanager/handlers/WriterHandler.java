@@ -23,9 +23,11 @@ import java.io.BufferedWriter;
 import java.io.Closeable;
 import java.io.Flushable;
 import java.io.Writer;
+import java.util.List;
 import java.util.logging.ErrorManager;
 import java.util.logging.Formatter;
 
+import org.jboss.logmanager.ExtFormatter;
 import org.jboss.logmanager.ExtHandler;
 import org.jboss.logmanager.ExtLogRecord;
 
@@ -33,6 +35,17 @@ import org.jboss.logmanager.ExtLogRecord;
  * A handler which writes to any {@code Writer}.
  */
 public class WriterHandler extends ExtHandler {
+    private static final ClassValue<Boolean> DO_PUBLISH_OVERRIDDEN = new ClassValue<Boolean>() {
+        protected Boolean computeValue(final Class<?> type) {
+            return Boolean.valueOf(isOverridden(type, "doPublish"));
+        }
+    };
+
+    private static final ClassValue<Boolean> PRE_WRITE_OVERRIDDEN = new ClassValue<Boolean>() {
+        protected Boolean computeValue(final Class<?> type) {
+            return Boolean.valueOf(isOverridden(type, "preWrite"));
+        }
+    };
 
     private volatile boolean checkHeadEncoding = true;
     private volatile boolean checkTailEncoding = true;
@@ -44,10 +57,32 @@ public class WriterHandler extends ExtHandler {
     public WriterHandler() {
     }
 
-    /** {@inheritDoc} */
+    /**
+     * {@inheritDoc} If the formatter is an {@link ExtFormatter}, the record is formatted into a reusable per-thread
+     * buffer which is written directly, so no intermediate string is created.
+     */
     protected void doPublish(final ExtLogRecord record) {
-        final String formatted;
         final Formatter formatter = getFormatter();
+        if (formatter instanceof ExtFormatter) {
+            final FormatBuffer buffer = FormatBuffer.acquire();
+            try {
+                try {
+                    ((ExtFormatter) formatter).formatTo(buffer.builder(), record);
+                } catch (Exception ex) {
+                    reportError("Formatting error", ex, ErrorManager.FORMAT_FAILURE);
+                    return;
+                }
+                if (buffer.length() == 0) {
+                    // nothing to write; don't bother
+                    return;
+                }
+                write(record, null, buffer);
+            } finally {
+                buffer.release();
+            }
+            return;
+        }
+        final String formatted;
         try {
             formatted = formatter.format(record);
         } catch (Exception ex) {
@@ -58,6 +93,10 @@ public class WriterHandler extends ExtHandler {
             // nothing to write; don't bother
             return;
         }
+        write(record, formatted, null);
+    }
+
+    private void write(final ExtLogRecord record, final String formatted, final FormatBuffer buffer) {
         try {
             lock.lock();
             try {
@@ -69,7 +108,11 @@ public class WriterHandler extends ExtHandler {
                 if (writer == null) {
                     return;
                 }
-                writer.write(formatted);
+                if (buffer == null) {
+                    writer.write(formatted);
+                } else {
+                    buffer.writeTo(writer);
+                }
                 // only flush if something was written
                 super.doPublish(record);
             } finally {
@@ -77,8 +120,94 @@ public class WriterHandler extends ExtHandler {
             }
         } catch (Exception ex) {
             reportError("Error writing log message", ex, ErrorManager.WRITE_FAILURE);
+        }
+    }
+
+    /**
+     * {@inheritDoc} The records are formatted into a single buffer first and then written while holding the lock
+     * once, flushing only after the last record has been written. If a subclass overrides
+     * {@link #doPublish(ExtLogRecord)}, each record is published through it instead.
+     */
+    @Override
+    protected void doPublishBatch(final List<ExtLogRecord> records) {
+        if (DO_PUBLISH_OVERRIDDEN.get(getClass()).booleanValue()) {
+            super.doPublishBatch(records);
             return;
         }
+        final int size = records.size();
+        final ExtLogRecord[] accepted = new ExtLogRecord[size];
+        // the end of the formatted text of each accepted record in the buffer
+        final int[] ends = new int[size];
+        int count = 0;
+        final Formatter formatter = getFormatter();
+        final FormatBuffer buffer = FormatBuffer.acquire();
+        try {
+            final StringBuilder builder = buffer.builder();
+            for (ExtLogRecord record : records) {
+                if (record == null || !isLoggable(record)) {
+                    continue;
+                }
+                final int start = builder.length();
+                try {
+                    if (formatter instanceof ExtFormatter) {
+                        ((ExtFormatter) formatter).formatTo(builder, record);
+                    } else {
+                        builder.append(formatter.format(record));
+                    }
+                } catch (Exception ex) {
+                    builder.setLength(start);
+                    reportError("Formatting error", ex, ErrorManager.FORMAT_FAILURE);
+                    continue;
+                }
+                if (builder.length() > start) {
+                    accepted[count] = record;
+                    ends[count++] = builder.length();
+                }
+            }
+            if (count == 0) {
+                // nothing to write; don't bother
+                return;
+            }
+            write(accepted, ends, count, buffer);
+        } finally {
+            buffer.release();
+        }
+    }
+
+    private void write(final ExtLogRecord[] records, final int[] ends, final int count, final FormatBuffer buffer) {
+        try {
+            lock.lock();
+            try {
+                if (PRE_WRITE_OVERRIDDEN.get(getClass()).booleanValue()) {
+                    // the pre-write policy, such as rotation, must run before each record is written
+                    int start = 0;
+                    for (int i = 0; i < count; i++) {
+                        if (writer == null) {
+                            return;
+                        }
+                        preWrite(records[i]);
+                        final Writer writer = this.writer;
+                        if (writer == null) {
+                            return;
+                        }
+                        buffer.writeTo(writer, start, ends[i]);
+                        start = ends[i];
+                    }
+                } else {
+                    final Writer writer = this.writer;
+                    if (writer == null) {
+                        return;
+                    }
+                    buffer.writeTo(writer);
+                }
+                // only flush if something was written
+                super.doPublish(records[count - 1]);
+            } finally {
+                lock.unlock();
+            }
+        } catch (Exception ex) {
+            reportError("Error writing log message", ex, ErrorManager.WRITE_FAILURE);
+        }
     }
 
     /**
@@ -110,7 +239,8 @@ public class WriterHandler extends ExtHandler {
                     safeFlush(oldWriter);
                 }
                 if (writer != null) {
-                    writeHead(this.writer = new BufferedWriter(writer));
+                    // an encoding writer already buffers its output
+                    writeHead(this.writer = writer instanceof EncodingWriter ? writer : new BufferedWriter(writer));
                 } else {
                     this.writer = null;
                 }
@@ -257,4 +387,15 @@ public class WriterHandler extends ExtHandler {
         } catch (Throwable ignored) {
         }
     }
+
+    private static boolean isOverridden(final Class<?> type, final String name) {
+        for (Class<?> c = type; c != WriterHandler.class; c = c.getSuperclass()) {
+            try {
+                c.getDeclaredMethod(name, ExtLogRecord.class);
+                return true;
+            } catch (NoSuchMethodException ignored) {
+            }
+        }
+        return false;
+    }
 }
@@ -1,7 +1,17 @@
 package org.jboss.logmanager;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
 import org.junit.jupiter.api.Test;
 
+import io.smallrye.common.net.HostName;
+
 /**
  *
  */
@@ -13,4 +23,95 @@ public final class ExtLogRecordTests {
         // expect this to not blow up on 11 or 17
         rec.setLongThreadID(1234);
     }
+
+    @Test
+    public void threadContextCapturedOnCopy() throws Exception {
+        NDC.push("captured");
+        final ExtLogRecord rec;
+        try {
+            rec = new ExtLogRecord(Level.INFO, "Hello world!", ExtLogRecordTests.class.getName());
+            rec.copyMdc();
+        } finally {
+            NDC.pop();
+        }
+        final String threadName = Thread.currentThread().getName();
+        final AtomicReference<String> ndc = new AtomicReference<>();
+        final AtomicReference<String> name = new AtomicReference<>();
+        final Thread thread = new Thread(() -> {
+            ndc.set(rec.getNdc());
+            name.set(rec.getThreadName());
+        });
+        thread.start();
+        thread.join();
+        assertEquals("captured", ndc.get());
+        assertEquals(threadName, name.get());
+    }
+
+    @Test
+    public void processInfoFollowsHostName() {
+        final String hostName = HostName.getQualifiedHostName();
+        final ExtLogRecord first = new ExtLogRecord(Level.INFO, "Hello world!", ExtLogRecordTests.class.getName());
+        final ExtLogRecord second = new ExtLogRecord(Level.INFO, "Hello world!", ExtLogRecordTests.class.getName());
+        assertSame(first.getHostName(), second.getHostName());
+        assertEquals(hostName, first.getHostName());
+        try {
+            HostName.setQualifiedHostName("changed.example.com");
+            final ExtLogRecord changed = new ExtLogRecord(Level.INFO, "Hello world!", ExtLogRecordTests.class.getName());
+            assertEquals("changed.example.com", changed.getHostName());
+            assertEquals(first.getProcessId(), changed.getProcessId());
+        } finally {
+            HostName.setQualifiedHostName(hostName);
+        }
+    }
+
+    @Test
+    public void callerCalculatedRepeatedly() {
+        // the first walk sizes the walker used by the following ones
+        for (int i = 0; i < 3; i++) {
+            final ExtLogRecord rec = CallerLogger.log();
+            assertEquals(ExtLogRecordTests.class.getName(), rec.getSourceClassName());
+            assertEquals("callerCalculatedRepeatedly", rec.getSourceMethodName());
+            assertEquals(ExtLogRecordTests.class.getModule().getName(), rec.getSourceModuleName());
+        }
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void formattedMessageRemembered() {
+        final ExtLogRecord rec = new ExtLogRecord(Level.INFO, "Hello {0}!", ExtLogRecordTests.class.getName());
+        rec.setParameters(new Object[] { "world" });
+        final String formatted = rec.getFormattedMessage();
+        assertEquals("Hello world!", formatted);
+        assertSame(formatted, rec.getFormattedMessage());
+        assertSame(formatted, new ExtLogRecord(rec).getFormattedMessage());
+        rec.setParameters(new Object[] { "again" });
+        assertEquals("Hello again!", rec.getFormattedMessage());
+        // a change made to the parameters array itself, for example by a masking filter
+        rec.getParameters()[0] = "***";
+        assertEquals("Hello ***!", rec.getFormattedMessage());
+        rec.setMessage("Goodbye %s!", ExtLogRecord.FormatStyle.PRINTF);
+        assertEquals("Goodbye ***!", rec.getFormattedMessage());
+    }
+
+    @Test
+    public void renderedStackTraceRemembered() {
+        final ExtLogRecord rec = new ExtLogRecord(Level.INFO, "Hello world!", ExtLogRecordTests.class.getName());
+        final AtomicInteger renders = new AtomicInteger();
+        final Function<Throwable, String> renderer = t -> t.getMessage() + renders.incrementAndGet();
+        assertNull(rec.getRenderedStackTrace("key", renderer));
+        rec.setThrown(new IllegalStateException("first"));
+        assertEquals("first1", rec.getRenderedStackTrace("key", renderer));
+        assertEquals("first1", rec.getRenderedStackTrace("key", renderer));
+        assertEquals("first2", rec.getRenderedStackTrace("other", renderer));
+        rec.setThrown(new IllegalStateException("second"));
+        assertEquals("second3", rec.getRenderedStackTrace("other", renderer));
+    }
+
+    private static final class CallerLogger {
+        static ExtLogRecord log() {
+            final ExtLogRecord rec = new ExtLogRecord(Level.INFO, "Hello world!", CallerLogger.class.getName());
+            rec.copyAll();
+            return rec;
+        }
+    }
 }
@@ -26,6 +26,14 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.StringWriter;
 import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
 import java.util.logging.Formatter;
 import java.util.logging.Handler;
 import java.util.logging.LogRecord;
@@ -73,6 +81,51 @@ public final class HandlerTests {
         assertEquals("Test message", writer.toString());
     }
 
+    @Test
+    public void testWriterHandlerBatch() throws Throwable {
+        final WriterHandler handler = new WriterHandler();
+        initHandler(handler);
+        handler.setLevel(Level.INFO);
+        final int[] flushes = new int[1];
+        final StringWriter writer = new StringWriter() {
+            @Override
+            public void flush() {
+                flushes[0]++;
+                super.flush();
+            }
+        };
+        handler.setWriter(writer);
+        flushes[0] = 0;
+        handler.publishBatch(List.of(
+                new ExtLogRecord(Level.INFO, "Test message ", null),
+                new ExtLogRecord(Level.DEBUG, "Filtered message ", null),
+                new ExtLogRecord(Level.INFO, "Test message", null)));
+        assertEquals("Test message Test message", writer.toString());
+        assertEquals(1, flushes[0]);
+    }
+
+    @Test
+    public void testWriterHandlerBatchOverriddenPublish() throws Throwable {
+        final StringBuilder published = new StringBuilder();
+        final WriterHandler handler = new WriterHandler() {
+            @Override
+            protected void doPublish(final ExtLogRecord record) {
+                published.append('[').append(record.getMessage()).append(']');
+                super.doPublish(record);
+            }
+        };
+        initHandler(handler);
+        handler.setLevel(Level.INFO);
+        final StringWriter writer = new StringWriter();
+        handler.setWriter(writer);
+        handler.publishBatch(List.of(
+                new ExtLogRecord(Level.INFO, "one", null),
+                new ExtLogRecord(Level.DEBUG, "filtered", null),
+                new ExtLogRecord(Level.INFO, "two", null)));
+        assertEquals("onetwo", writer.toString());
+        assertEquals("[one][two]", published.toString());
+    }
+
     @Test
     public void testOutputStreamHandler() throws Throwable {
         final OutputStreamHandler handler = new OutputStreamHandler();
@@ -83,6 +136,23 @@ public final class HandlerTests {
         assertEquals("Test message", new String(stream.toByteArray(), "utf-8"));
     }
 
+    @Test
+    public void testOutputStreamHandlerEncoding() throws Throwable {
+        // ASCII, Latin-1, BMP, a surrogate pair and lone surrogates
+        final String msg = "Test message \u00e9\u00ff \u4e16\u754c \ud83d\ude00 \ud83d| \ude00|\ud83d";
+        for (Charset charset : new Charset[] { StandardCharsets.UTF_8, StandardCharsets.US_ASCII,
+                StandardCharsets.ISO_8859_1, StandardCharsets.UTF_16LE }) {
+            final OutputStreamHandler handler = new OutputStreamHandler();
+            initHandler(handler);
+            handler.setCharset(charset);
+            final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+            handler.setOutputStream(stream);
+            handler.publish(new ExtLogRecord(Level.INFO, msg, null));
+            handler.close();
+            assertArrayEquals(msg.getBytes(charset), stream.toByteArray(), charset::name);
+        }
+    }
+
     @Test
     public void testFileHandler() throws Throwable {
         final FileHandler handler = new FileHandler();
@@ -118,6 +188,87 @@ public final class HandlerTests {
         }
     }
 
+    @Test
+    public void testFileHandlerChannel() throws Throwable {
+        final File tempFile = File.createTempFile("jblm-", ".log");
+        try {
+            for (FileHandler.SyncPolicy syncPolicy : FileHandler.SyncPolicy.values()) {
+                final FileHandler handler = new FileHandler();
+                initHandler(handler);
+                handler.setOutputMode(FileHandler.OutputMode.CHANNEL);
+                // a small buffer so records are written with gathering writes
+                handler.setBufferSize(16);
+                handler.setDirectBuffer(syncPolicy.ordinal() % 2 == 0);
+                handler.setSyncPolicy(syncPolicy);
+                handler.setSyncInterval(0L);
+                handler.setSyncBytes(10L);
+                handler.setAppend(false);
+                handler.setFile(tempFile);
+                final StringBuilder expected = new StringBuilder();
+                for (int i = 0; i < 20; i++) {
+                    final String msg = i % 2 == 0 ? "Test message " + i + "\n" : "x";
+                    handler.publish(new ExtLogRecord(Level.INFO, msg, null));
+                    expected.append(msg);
+                }
+                handler.setAutoFlush(false);
+                handler.publish(new ExtLogRecord(Level.INFO, "unflushed", null));
+                expected.append("unflushed");
+                handler.close();
+                assertEquals(expected.toString(), new String(Files.readAllBytes(tempFile.toPath()), StandardCharsets.UTF_8),
+                        syncPolicy::name);
+            }
+        } finally {
+            tempFile.delete();
+        }
+    }
+
+    @Test
+    public void testFileHandlerMapped() throws Throwable {
+        final File tempFile = File.createTempFile("jblm-", ".log");
+        try {
+            final FileHandler handler = new FileHandler();
+            initHandler(handler);
+            handler.setOutputMode(FileHandler.OutputMode.MAPPED);
+            // a small region so records span several regions
+            handler.setMappedRegionSize(64);
+            handler.setAppend(false);
+            handler.setFile(tempFile);
+            final StringBuilder expected = new StringBuilder();
+            for (int i = 0; i < 50; i++) {
+                final String msg = "Test message " + i + "\n";
+                handler.publish(new ExtLogRecord(Level.INFO, msg, null));
+                expected.append(msg);
+            }
+            handler.close();
+            // the preallocated space is truncated on close
+            assertEquals(expected.toString(), new String(Files.readAllBytes(tempFile.toPath()), StandardCharsets.UTF_8));
+
+            // no length is recorded once the file is closed
+            final Path lengthFile = Paths.get(tempFile + ".mapped-length");
+            assertFalse(Files.exists(lengthFile));
+
+            // NUL bytes which were written are kept when appending
+            handler.setAppend(true);
+            handler.setFile(tempFile);
+            handler.publish(new ExtLogRecord(Level.INFO, "Zeros\u0000\u0000", null));
+            expected.append("Zeros\u0000\u0000");
+            handler.close();
+            assertEquals(expected.toString(), new String(Files.readAllBytes(tempFile.toPath()), StandardCharsets.UTF_8));
+
+            // padding left behind by a process which did not close the file is trimmed to the recorded length
+            Files.write(tempFile.toPath(), new byte[40], StandardOpenOption.APPEND);
+            Files.write(lengthFile, ByteBuffer.allocate(Long.BYTES).putLong(Files.size(tempFile.toPath()) - 40).array());
+            handler.setFile(tempFile);
+            handler.publish(new ExtLogRecord(Level.INFO, "Appended", null));
+            expected.append("Appended");
+            handler.close();
+            assertEquals(expected.toString(), new String(Files.readAllBytes(tempFile.toPath()), StandardCharsets.UTF_8));
+            assertFalse(Files.exists(lengthFile));
+        } finally {
+            tempFile.delete();
+        }
+    }
+
     @Test
     public void testEnableDisableHandler() throws Throwable {
         final StringListHandler handler = new StringListHandler();
@@ -0,0 +1,119 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.logmanager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+public class HashTrieMapTests {
+
+    @Test
+    public void randomOperations() {
+        final Random random = new Random(1234L);
+        HashTrieMap<Key, Integer> map = HashTrieMap.empty();
+        final Map<Key, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 10_000; i++) {
+            final int id = random.nextInt(500);
+            // only a few distinct hash codes, to force collisions and deep nodes
+            final Key key = new Key(id, (id % 13) * 0x9E3779B9);
+            if (random.nextInt(3) == 0) {
+                map = map.without(key);
+                expected.remove(key);
+            } else {
+                final Integer value = random.nextInt(10);
+                map = map.with(key, value);
+                expected.put(key, value);
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        MapTestUtils.compareMaps(expected, map);
+        for (Key key : expected.keySet()) {
+            map = map.without(key);
+        }
+        assertTrue(map.isEmpty());
+        assertTrue(map.entrySet().isEmpty());
+    }
+
+    @Test
+    public void versionsAreIndependent() {
+        final HashTrieMap<String, Object> first = HashTrieMap.<String, Object> empty().with("a", "1").with("b", "2");
+        final HashTrieMap<String, Object> second = first.with("a", "3").without("b").with("c", "4");
+        assertEquals(Map.of("a", "1", "b", "2"), first);
+        assertEquals(Map.of("a", "3", "c", "4"), second);
+        assertSame(first, first.with("a", "1"));
+        assertSame(first, first.without("missing"));
+    }
+
+    @Test
+    public void persistentMdc() throws Exception {
+        final PersistentMDC mdc = new PersistentMDC();
+        mdc.clear();
+        assertNull(mdc.put("key", "value"));
+        final Map<String, Object> snapshot = mdc.snapshot();
+        assertEquals("value", mdc.put("key", "changed"));
+        assertEquals("value", snapshot.get("key"));
+        final AtomicReference<Object> inherited = new AtomicReference<>();
+        final Thread thread = new Thread(() -> {
+            inherited.set(mdc.get("key"));
+            mdc.put("key", "child");
+        });
+        thread.start();
+        thread.join();
+        assertEquals("changed", inherited.get());
+        assertEquals("changed", mdc.get("key"));
+        mdc.copyObject().put("key", "copy");
+        assertEquals("changed", mdc.remove("key"));
+        assertTrue(mdc.isEmpty());
+    }
+
+    private static final class Key {
+        private final int id;
+        private final int hash;
+
+        private Key(final int id, final int hash) {
+            this.id = id;
+            this.hash = hash;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            return obj instanceof Key && ((Key) obj).id == id;
+        }
+
+        @Override
+        public String toString() {
+            return "Key[" + id + "]";
+        }
+    }
+}
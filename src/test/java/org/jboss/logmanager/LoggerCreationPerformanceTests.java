@@ -0,0 +1,87 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.logmanager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Creates many loggers under a single parent node. The results are system dependant and can therefore only be checked
+ * manually; a 'sluggish' build indicates a problem.
+ */
+public class LoggerCreationPerformanceTests {
+    private static final int CHILDREN = 100_000;
+    private static final int THREADS = 4;
+
+    @Test
+    public void testManyChildren() {
+        for (boolean strong : new boolean[] { false, true }) {
+            final LogContext context = LogContext.create(strong);
+            final List<Logger> loggers = new ArrayList<>(CHILDREN);
+            final long start = System.nanoTime();
+            for (int i = 0; i < CHILDREN; i++) {
+                loggers.add(context.getLogger("entity.Entity" + i));
+            }
+            final long elapsed = System.nanoTime() - start;
+            System.out.printf("Created %d child loggers (strong=%s) in %d ms%n", CHILDREN, strong, elapsed / 1_000_000L);
+            assertEquals(CHILDREN, Collections.list(context.getLoggerNames()).stream()
+                    .filter(name -> name.startsWith("entity.")).count());
+        }
+    }
+
+    @Test
+    public void testManyChildrenInParallel() throws Exception {
+        final LogContext context = LogContext.create();
+        final List<Logger> loggers = Collections.synchronizedList(new ArrayList<>(CHILDREN));
+        final CountDownLatch startLatch = new CountDownLatch(1);
+        final Thread[] threads = new Thread[THREADS];
+        for (int t = 0; t < THREADS; t++) {
+            final int offset = t;
+            threads[t] = new Thread(() -> {
+                try {
+                    startLatch.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = offset; i < CHILDREN; i += THREADS) {
+                    loggers.add(context.getLogger("entity.Entity" + i));
+                }
+            });
+            threads[t].start();
+        }
+        final long start = System.nanoTime();
+        startLatch.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        final long elapsed = System.nanoTime() - start;
+        System.out.printf("Created %d child loggers on %d threads in %d ms%n", CHILDREN, THREADS, elapsed / 1_000_000L);
+        assertEquals(CHILDREN, loggers.size());
+        assertEquals(CHILDREN, Collections.list(context.getLoggerNames()).stream()
+                .filter(name -> name.startsWith("entity.")).count());
+    }
+}
@@ -27,6 +27,7 @@ import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.lang.invoke.MethodHandle;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -253,6 +254,124 @@ public final class LoggerTests {
         assertEquals(5, handler.messages.size(), "Handler should have only contained five messages");
     }
 
+    @Test
+    public void testInheritedFilterChange() {
+        final ListHandler handler = new ListHandler();
+        final Logger grandparent = Logger.getLogger("grandparent", getClass().getName());
+        grandparent.setLevel(Level.INFO);
+        handler.setLevel(Level.INFO);
+        grandparent.addHandler(handler);
+
+        final Logger parent = Logger.getLogger("grandparent.parent", getClass().getName());
+        parent.setUseParentFilters(true);
+        final Logger child = Logger.getLogger("grandparent.parent.child", getClass().getName());
+        child.setUseParentFilters(true);
+        child.setFilter(new RegexFilter(".*(?i)message.*"));
+
+        // Filters set on an ancestor after the chain was enabled apply to the child
+        grandparent.setFilter(new RegexFilter(".*(?i)test.*"));
+        child.info("This is a test message");
+        child.info("This is a test");
+        child.info("One more message");
+        assertEquals(1, handler.messages.size(), "Handler should have only contained one message");
+
+        // Breaking the chain in the middle removes the ancestor filter
+        handler.messages.clear();
+        parent.setUseParentFilters(false);
+        child.info("This is a test message");
+        child.info("This is a test");
+        child.info("One more message");
+        assertEquals(2, handler.messages.size(), "Handler should have only contained two messages");
+
+        // Restoring the chain and replacing the ancestor filter applies the new filter
+        handler.messages.clear();
+        parent.setUseParentFilters(true);
+        grandparent.setFilter(new RegexFilter(".*(?i)more.*"));
+        child.info("This is a test message");
+        child.info("One more message");
+        assertEquals(1, handler.messages.size(), "Handler should have only contained one message");
+        assertEquals("One more message", handler.messages.get(0));
+    }
+
+    @Test
+    public void testInheritedHandlerChange() {
+        final ListHandler rootHandler = new ListHandler();
+        final ListHandler midHandler = new ListHandler();
+        final Logger root = Logger.getLogger("inherited", getClass().getName());
+        final Logger mid = Logger.getLogger("inherited.a.b", getClass().getName());
+        final Logger leaf = Logger.getLogger("inherited.a.b.c.d", getClass().getName());
+        root.setLevel(Level.INFO);
+        leaf.info("No handlers");
+
+        // Handlers added after the leaf has published are used
+        root.addHandler(rootHandler);
+        mid.addHandler(midHandler);
+        leaf.info("Both handlers");
+        assertEquals(Collections.singletonList("Both handlers"), rootHandler.messages);
+        assertEquals(Collections.singletonList("Both handlers"), midHandler.messages);
+
+        // Disabling parent handlers part way up the hierarchy stops inheritance
+        mid.setUseParentHandlers(false);
+        leaf.info("Mid handler");
+        assertEquals(1, rootHandler.messages.size());
+        assertEquals(2, midHandler.messages.size());
+
+        // Removing a handler is seen by the descendants
+        mid.setUseParentHandlers(true);
+        mid.removeHandler(midHandler);
+        leaf.info("Root handler");
+        assertEquals(2, rootHandler.messages.size());
+        assertEquals("Root handler", rootHandler.messages.get(1));
+        assertEquals(2, midHandler.messages.size());
+        root.removeHandler(rootHandler);
+    }
+
+    @Test
+    public void testCachedLoggerLookup() throws Exception {
+        final LogContext context = LogContext.create();
+        final Logger first = context.getLogger("cached.a.b");
+        first.setLevel(Level.FINE);
+        final Logger second = context.getLogger("cached.a.b");
+        assertEquals(Level.FINE, second.getLevel());
+        assertSame(second.getLevel(), context.getLoggerIfExists("cached.a.b").getLevel());
+        assertNull(context.getLoggerIfExists("cached.a.b.c"));
+
+        // the loggers of a closed context are discarded with the tree
+        context.close();
+        context.getLogger("cached.a").setLevel(Level.FINER);
+        final Logger fresh = context.getLogger("cached.a.b");
+        assertNull(fresh.getLevel());
+        assertEquals(Level.FINER.intValue(), fresh.getEffectiveLevel());
+    }
+
+    @Test
+    public void testLevelCheck() throws Throwable {
+        final LogContext context = LogContext.create();
+        final Logger parent = context.getLogger("check");
+        final Logger child = context.getLogger("check.child");
+        parent.setLevel(Level.INFO);
+        final MethodHandle childFine = child.getLevelCheck(Level.FINE);
+        final MethodHandle childWarning = child.getLevelCheck(Level.WARNING);
+        assertFalse((boolean) childFine.invokeExact());
+        assertTrue((boolean) childWarning.invokeExact());
+
+        // an inherited level change relinks the check
+        parent.setLevel(Level.FINE);
+        assertTrue((boolean) childFine.invokeExact());
+        parent.setLevel(Level.SEVERE);
+        assertFalse((boolean) childFine.invokeExact());
+        assertFalse((boolean) childWarning.invokeExact());
+
+        // as does an explicit one
+        child.setLevel(Level.ALL);
+        assertTrue((boolean) childFine.invokeExact());
+        parent.setLevel(Level.OFF);
+        assertTrue((boolean) childFine.invokeExact());
+        child.setLevel(null);
+        assertFalse((boolean) childWarning.invokeExact());
+        assertEquals(child.isLoggable(Level.FINE), (boolean) childFine.invokeExact());
+    }
+
     private static final class ListHandler extends ExtHandler {
         final List<String> messages = Collections.synchronizedList(new ArrayList<String>());
 
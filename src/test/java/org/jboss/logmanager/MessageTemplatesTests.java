@@ -0,0 +1,123 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.logmanager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.text.MessageFormat;
+import java.util.Date;
+import java.util.Formattable;
+import java.util.Locale;
+
+import org.junit.jupiter.api.Test;
+
+public class MessageTemplatesTests {
+    private static final Object[][] PARAMETERS = {
+            {},
+            { "one" },
+            { "one", 2 },
+            { null, -12345L, 3 },
+            { 1234567, new Date(0L), new BigDecimal("1.50"), (short) 7, (byte) -1 },
+            { new Object() {
+                @Override
+                public String toString() {
+                    return null;
+                }
+            }, 1.5d },
+            { (Formattable) (formatter, flags, width, precision) -> formatter.format("formattable"), 3 },
+    };
+
+    @Test
+    public void messageFormat() {
+        final String[] patterns = {
+                "plain",
+                "{0}",
+                "a {0} b {1} c {2}",
+                "{1}{0}{1}",
+                "{01} and {4} and {12}",
+                "} unbalanced {0}",
+                "{0,number,#.##}",
+                "it''s {0}",
+                "'{0}'",
+                "{ 0}",
+                "{}",
+                "{0",
+                "{12345}",
+        };
+        for (Locale locale : new Locale[] { Locale.US, Locale.GERMANY }) {
+            final Locale defaultLocale = Locale.getDefault(Locale.Category.FORMAT);
+            Locale.setDefault(Locale.Category.FORMAT, locale);
+            try {
+                for (String pattern : patterns) {
+                    for (Object[] parameters : PARAMETERS) {
+                        // twice, to check the remembered template
+                        for (int i = 0; i < 2; i++) {
+                            assertEquals(outcome(() -> MessageFormat.format(pattern, parameters)),
+                                    outcome(() -> MessageTemplates.formatMessageFormat(pattern, parameters)), pattern);
+                        }
+                    }
+                }
+            } finally {
+                Locale.setDefault(Locale.Category.FORMAT, defaultLocale);
+            }
+        }
+    }
+
+    @Test
+    public void printf() {
+        final String[] formats = {
+                "plain",
+                "%s",
+                "a %s b %d c %s",
+                "100%% %n%s",
+                "%d%d",
+                "%5s",
+                "%2$s %1$s",
+                "%S",
+                "%x",
+                "trailing %",
+        };
+        for (Locale locale : new Locale[] { Locale.US, Locale.forLanguageTag("th-TH-u-nu-thai") }) {
+            final Locale defaultLocale = Locale.getDefault(Locale.Category.FORMAT);
+            Locale.setDefault(Locale.Category.FORMAT, locale);
+            try {
+                for (String format : formats) {
+                    for (Object[] parameters : PARAMETERS) {
+                        for (int i = 0; i < 2; i++) {
+                            assertEquals(outcome(() -> String.format(format, parameters)),
+                                    outcome(() -> MessageTemplates.formatPrintf(format, parameters)), format);
+                        }
+                    }
+                }
+            } finally {
+                Locale.setDefault(Locale.Category.FORMAT, defaultLocale);
+            }
+        }
+    }
+
+    private static String outcome(final java.util.function.Supplier<String> formatter) {
+        try {
+            return formatter.get();
+        } catch (RuntimeException e) {
+            return e.toString();
+        }
+    }
+}
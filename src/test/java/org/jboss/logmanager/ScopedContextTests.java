@@ -0,0 +1,89 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.logmanager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+public class ScopedContextTests {
+
+    @Test
+    public void scopedMdc() throws Exception {
+        final ScopedMDC mdc = new ScopedMDC();
+        mdc.clear();
+        mdc.put("outer", "1");
+        ScopedMDC.run("inner", "2", () -> {
+            assertEquals("1", mdc.get("outer"));
+            assertEquals("2", mdc.get("inner"));
+            mdc.put("changed", "3");
+        });
+        assertNull(mdc.get("inner"));
+        assertNull(mdc.get("changed"));
+        assertEquals("2", ScopedMDC.call("inner", "2", () -> mdc.get("inner")));
+
+        final AtomicReference<String> unbound = new AtomicReference<>("unset");
+        final AtomicReference<String> wrapped = new AtomicReference<>();
+        final Runnable task = ScopedMDC.wrap(() -> wrapped.set(mdc.get("outer")));
+        final Thread thread = new Thread(() -> {
+            unbound.set(mdc.get("outer"));
+            task.run();
+        });
+        thread.start();
+        thread.join();
+        assertNull(unbound.get());
+        assertEquals("1", wrapped.get());
+        mdc.clear();
+        assertTrue(mdc.isEmpty());
+    }
+
+    @Test
+    public void scopedNdc() throws Exception {
+        final ScopedNDC ndc = new ScopedNDC();
+        ndc.clear();
+        assertEquals("", ndc.get());
+        assertEquals(0, ndc.push("a"));
+        assertEquals(1, ndc.push("b"));
+        ndc.push("c");
+        assertEquals("a.b.c", ndc.get());
+        assertEquals(3, ndc.getDepth());
+        assertEquals("a", ndc.get(0));
+        assertEquals("c", ndc.get(2));
+        assertNull(ndc.get(3));
+        assertEquals("c", ndc.pop());
+        ndc.trimTo(1);
+        assertEquals("a", ndc.get());
+        ScopedNDC.run("d", () -> assertEquals("a.d", ndc.get()));
+        assertEquals("a", ndc.get());
+
+        final AtomicReference<String> wrapped = new AtomicReference<>();
+        final Thread thread = new Thread(ScopedNDC.wrap(() -> wrapped.set(ndc.get())));
+        thread.start();
+        thread.join();
+        assertEquals("a", wrapped.get());
+        ndc.clear();
+        assertEquals("", ndc.pop());
+        assertEquals(0, ndc.getDepth());
+    }
+}
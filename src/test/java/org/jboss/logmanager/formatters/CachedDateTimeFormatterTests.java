@@ -0,0 +1,91 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.logmanager.formatters;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Random;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class CachedDateTimeFormatterTests {
+    private static final String[] PATTERNS = {
+            "yyyy-MM-dd HH:mm:ss,SSS",
+            "HH:mm:ss.SSSSSS",
+            "SSSSSSSSS 'SSS' ss",
+            "HH:mm:ss",
+            "A N",
+            "n",
+            "ppppppppppn",
+            "nnnnnnnnn",
+            "yyyy-MM-dd'T'HH:mm:ss.SSSXXX VV",
+    };
+
+    @Test
+    public void patterns() {
+        final ZoneId zone = ZoneId.of("Europe/Berlin");
+        for (String pattern : PATTERNS) {
+            final DateTimeFormatter formatter = DateTimeFormatter.ofPattern(pattern);
+            compare(formatter, new CachedDateTimeFormatter(formatter, zone), zone);
+        }
+    }
+
+    @Test
+    public void isoOffsetDateTime() {
+        final ZoneId zone = ZoneId.of("America/New_York");
+        final DateTimeFormatter formatter = DateTimeFormatter.ISO_OFFSET_DATE_TIME.withZone(zone);
+        compare(formatter, new CachedDateTimeFormatter(formatter, zone), zone);
+        final ZoneId utc = ZoneId.of("UTC");
+        final DateTimeFormatter utcFormatter = formatter.withZone(utc);
+        compare(utcFormatter, new CachedDateTimeFormatter(utcFormatter, utc), utc);
+    }
+
+    private static void compare(final DateTimeFormatter formatter, final CachedDateTimeFormatter cached, final ZoneId zone) {
+        final Random random = new Random(42L);
+        // around a daylight saving time change
+        long second = 1711846800L - 50;
+        final StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 5_000; i++) {
+            if (random.nextInt(20) == 0) {
+                second += random.nextInt(3);
+            }
+            final int nano;
+            switch (random.nextInt(4)) {
+                case 0:
+                    nano = 0;
+                    break;
+                case 1:
+                    nano = random.nextInt(1000) * 1_000_000;
+                    break;
+                default:
+                    nano = random.nextInt(1_000_000_000);
+            }
+            final Instant instant = Instant.ofEpochSecond(second, nano);
+            final String expected = formatter.format(instant.atZone(zone));
+            Assertions.assertEquals(expected, cached.format(instant), formatter.toString());
+            builder.setLength(0);
+            builder.append("x");
+            cached.formatTo(instant, builder);
+            Assertions.assertEquals("x" + expected, builder.toString());
+        }
+    }
+}
@@ -20,18 +20,26 @@
 package org.jboss.logmanager.formatters;
 
 import java.io.StringReader;
+import java.io.StringWriter;
+import java.lang.reflect.InvocationTargetException;
+import java.net.URL;
+import java.net.URLClassLoader;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Formatter;
+import java.util.logging.LogRecord;
 
 import jakarta.json.Json;
 import jakarta.json.JsonObject;
 import jakarta.json.JsonReader;
 import jakarta.json.JsonValue;
 import jakarta.json.JsonValue.ValueType;
+import jakarta.json.JsonWriter;
 
 import org.jboss.logmanager.ExtFormatter;
 import org.jboss.logmanager.ExtLogRecord;
@@ -100,6 +108,119 @@ public class JsonFormatterTests extends AbstractTest {
         compare(record, formatter, metaDataMap);
     }
 
+    @Test
+    public void testConcurrentFormat() throws Exception {
+        final JsonFormatter formatter = new JsonFormatter();
+        formatter.setExceptionOutputType(JsonFormatter.ExceptionOutputType.DETAILED_AND_FORMATTED);
+        final ExtLogRecord[] records = new ExtLogRecord[8];
+        final String[] expected = new String[records.length];
+        for (int i = 0; i < records.length; i++) {
+            records[i] = createLogRecord("Test formatted %s", i);
+            records[i].setThrown(new RuntimeException("Test exception " + i, new IllegalStateException("cause")));
+            expected[i] = formatter.format(records[i]);
+        }
+        final Thread[] threads = new Thread[4];
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                try {
+                    final StringBuilder builder = new StringBuilder();
+                    for (int n = 0; n < 500; n++) {
+                        final int i = n % records.length;
+                        builder.setLength(0);
+                        formatter.formatTo(builder, records[i]);
+                        Assertions.assertEquals(expected[i], builder.toString());
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        Assertions.assertNull(failure.get(), () -> "Concurrent formatting failed: " + failure.get());
+    }
+
+    @Test
+    public void testBuiltInGenerator() throws Exception {
+        KEY_OVERRIDES.put(Key.MESSAGE, "msg\"\u0001");
+        final JsonFormatter formatter = new JsonFormatter(KEY_OVERRIDES);
+        formatter.setPrintDetails(true);
+        formatter.setExceptionOutputType(JsonFormatter.ExceptionOutputType.DETAILED_AND_FORMATTED);
+        formatter.setMetaData("meta\"key\u0001=value");
+        final ExtLogRecord record = createLogRecord(Level.WARN,
+                "Quote \" slash \\ / control \b\f\n\r\t\u0000\u007f \u00e9 \ud83d\ude00");
+        record.putMdc("mdc\"key\n", "mdcValue");
+        record.setNdc("ndc");
+        record.setThrown(new RuntimeException("Test \"exception\"", new IllegalStateException("cause\n")));
+        final String formatted = formatter.format(record);
+        Assertions.assertTrue(formatted.endsWith("\n"), () -> "Missing record delimiter: " + formatted);
+        final String json = formatted.substring(0, formatted.length() - 1);
+
+        // the built-in generator must produce exactly what the jakarta.json generator would
+        final JsonObject parsed;
+        try (JsonReader reader = Json.createReader(new StringReader(json))) {
+            parsed = reader.readObject();
+        }
+        final StringWriter expected = new StringWriter();
+        try (JsonWriter writer = Json.createWriter(expected)) {
+            writer.writeObject(parsed);
+        }
+        Assertions.assertEquals(expected.toString(), json);
+        compare(record, formatted, Collections.singletonMap("meta\"key\u0001", "value"));
+
+        // pretty printing is still supported through jakarta.json
+        formatter.setPrettyPrint(true);
+        Assertions.assertTrue(formatter.isPrettyPrint());
+        final String pretty = formatter.format(record);
+        try (JsonReader reader = Json.createReader(new StringReader(pretty))) {
+            Assertions.assertEquals(parsed, reader.readObject());
+        }
+        formatter.setPrettyPrint(false);
+        Assertions.assertEquals(formatted, formatter.format(record));
+    }
+
+    @Test
+    public void testCompactWithoutJsonApi() throws Exception {
+        // load the formatter through a class loader which can not see the jakarta.json API or an implementation
+        final URL classes = JsonFormatter.class.getProtectionDomain().getCodeSource().getLocation();
+        final ClassLoader parent = new ClassLoader(JsonFormatterTests.class.getClassLoader()) {
+            @Override
+            protected Class<?> loadClass(final String name, final boolean resolve) throws ClassNotFoundException {
+                // the log manager classes are hidden as well, so they are defined again by the child loader
+                if (name.startsWith("jakarta.json.") || name.startsWith("org.eclipse.parsson.")
+                        || name.startsWith("org.jboss.logmanager.")) {
+                    throw new ClassNotFoundException(name);
+                }
+                return super.loadClass(name, resolve);
+            }
+        };
+        try (URLClassLoader loader = new URLClassLoader(new URL[] { classes }, parent)) {
+            Assertions.assertThrows(ClassNotFoundException.class, () -> loader.loadClass(JsonValue.class.getName()));
+            final Class<?> formatterType = loader.loadClass(JsonFormatter.class.getName());
+            Assertions.assertNotSame(JsonFormatter.class, formatterType);
+
+            final Formatter formatter = (Formatter) formatterType.getConstructor().newInstance();
+            final LogRecord record = new LogRecord(java.util.logging.Level.INFO, "Test message");
+            record.setLoggerName("org.jboss.logmanager.test");
+            final String formatted = formatter.format(record);
+            final JsonObject json;
+            try (JsonReader reader = Json.createReader(new StringReader(formatted))) {
+                json = reader.readObject();
+            }
+            Assertions.assertEquals("Test message", getString(json, Key.MESSAGE));
+            Assertions.assertEquals("org.jboss.logmanager.test", getString(json, Key.LOGGER_NAME));
+            Assertions.assertEquals("INFO", getString(json, Key.LEVEL));
+
+            // pretty printing is the only feature which requires the API
+            final InvocationTargetException e = Assertions.assertThrows(InvocationTargetException.class,
+                    () -> formatterType.getMethod("setPrettyPrint", boolean.class).invoke(formatter, true));
+            Assertions.assertInstanceOf(IllegalStateException.class, e.getCause());
+        }
+    }
+
     private static int getInt(final JsonObject json, final Key key) {
         final String name = getKey(key);
         if (json.containsKey(name) && !json.isNull(name)) {
@@ -72,6 +72,23 @@ public class PatternFormatterTests {
         Assertions.assertEquals("test", formatter.format(record));
     }
 
+    @Test
+    public void repeatedCategories() throws Exception {
+        final ExtLogRecord record = createLogRecord("test");
+        final PatternFormatter abbreviated = new PatternFormatter("%c{1.}");
+        final PatternFormatter trailing = new PatternFormatter("%c{2}");
+        // more names than are remembered, each formatted more than once
+        for (int pass = 0; pass < 2; pass++) {
+            for (int i = 0; i < 2000; i++) {
+                record.setLoggerName("org.jboss.logger" + i + ".Name");
+                Assertions.assertEquals("o.j.l.Name", abbreviated.format(record));
+                Assertions.assertEquals("logger" + i + ".Name", trailing.format(record));
+            }
+        }
+        record.setLoggerName(null);
+        Assertions.assertEquals("null", abbreviated.format(record));
+    }
+
     @Test
     public void classNames() throws Exception {
         final ExtLogRecord record = createLogRecord("test");
@@ -329,6 +346,62 @@ public class PatternFormatterTests {
         }
     }
 
+    @Test
+    public void formatTo() throws Exception {
+        final ExtLogRecord record = createLogRecord("test");
+        final PatternFormatter formatter = new PatternFormatter("%-6p [%c{1}] %s");
+        final StringBuilder builder = new StringBuilder("prefix ");
+        formatter.formatTo(builder, record);
+        Assertions.assertEquals("prefix " + formatter.format(record), builder.toString());
+
+        // A subclass which overrides format() must still be honored
+        final PatternFormatter overriding = new PatternFormatter("%s") {
+            @Override
+            public String format(final ExtLogRecord record) {
+                return super.format(record).toUpperCase();
+            }
+        };
+        builder.setLength(0);
+        overriding.formatTo(builder, record);
+        Assertions.assertEquals("TEST", builder.toString());
+    }
+
+    @Test
+    public void compiled() throws Exception {
+        final ExtLogRecord record = new ExtLogRecord(org.jboss.logmanager.Level.INFO, "test {0}",
+                PatternFormatterTests.class.getName());
+        record.setSourceClassName(PatternFormatterTests.class.getName());
+        record.setLoggerName(CATEGORY);
+        record.setParameters(new Object[] { "value" });
+        record.setThrown(new IllegalStateException("bad"));
+        final String[] patterns = {
+                "%d{HH:mm:ss,SSS} %-5p [%c] (%t) %s%e%n",
+                "[%5.-10c{1.}] %%%m <%C{1}> %-2.3p|%X{missing}|",
+                "%E",
+                "literal only",
+                "",
+        };
+        for (String pattern : patterns) {
+            final PatternFormatter formatter = new PatternFormatter(pattern);
+            final String expected = formatter.format(record);
+            formatter.setCompiled(true);
+            Assertions.assertTrue(formatter.isCompiled());
+            // run enough times for the compiled handle to be specialized
+            for (int i = 0; i < 200; i++) {
+                Assertions.assertEquals(expected, formatter.format(record), pattern);
+            }
+            final StringBuilder builder = new StringBuilder("prefix ");
+            formatter.formatTo(builder, record);
+            Assertions.assertEquals("prefix " + expected, builder.toString());
+        }
+
+        // the compiled form follows pattern changes
+        final PatternFormatter formatter = new PatternFormatter("%p");
+        formatter.setCompiled(true);
+        formatter.setPattern("%c{1} %s");
+        Assertions.assertEquals("PatternFormatterTests test value", formatter.format(record));
+    }
+
     protected static ExtLogRecord createLogRecord(final String msg) {
         final ExtLogRecord result = new ExtLogRecord(org.jboss.logmanager.Level.INFO, msg,
                 PatternFormatterTests.class.getName());
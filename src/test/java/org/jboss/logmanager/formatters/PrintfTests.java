@@ -0,0 +1,62 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.logmanager.formatters;
+
+import java.math.BigInteger;
+import java.util.Formattable;
+import java.util.Locale;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class PrintfTests {
+
+    @Test
+    public void simpleConversions() {
+        final Object[][] parameters = {
+                { "one", 2 },
+                { null, null },
+                { -12345L, (short) 3 },
+                { (Formattable) (formatter, flags, width, precision) -> formatter.format("formattable"), Long.MIN_VALUE },
+                { new Object(), BigInteger.TEN.pow(30) },
+        };
+        final String[] formats = { "plain", "%s", "a %s b %d", "100%% %n%s", "%s%s%s", "%d", "%,d %s" };
+        for (Locale locale : new Locale[] { Locale.US, Locale.forLanguageTag("th-TH-u-nu-thai") }) {
+            final Printf printf = new Printf(locale);
+            for (String format : formats) {
+                for (Object[] params : parameters) {
+                    // twice, to check the remembered template
+                    for (int i = 0; i < 2; i++) {
+                        Assertions.assertEquals(outcome(() -> String.format(locale, format, params)),
+                                outcome(() -> printf.format(format, params)), format);
+                    }
+                }
+            }
+        }
+    }
+
+    private static String outcome(final java.util.function.Supplier<String> formatter) {
+        try {
+            return formatter.get();
+        } catch (RuntimeException e) {
+            return e.getClass().getName();
+        }
+    }
+}
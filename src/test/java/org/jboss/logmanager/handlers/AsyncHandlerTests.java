@@ -130,6 +130,97 @@ public class AsyncHandlerTests {
         Assertions.assertNull(handler.getFirst(), () -> "Expected no more entries, but found " + handler.queue);
     }
 
+    @Test
+    public void ringBuffer() throws Exception {
+        final int producers = 4;
+        final int records = 500;
+        for (AsyncHandler.WaitStrategy waitStrategy : AsyncHandler.WaitStrategy.values()) {
+            final BlockingQueueHandler nested = new BlockingQueueHandler();
+            nested.setFormatter(new PatternFormatter("%s"));
+            final AsyncHandler ringHandler = new AsyncHandler(16, waitStrategy);
+            ringHandler.setOverflowAction(OverflowAction.BLOCK);
+            ringHandler.addHandler(nested);
+            Assertions.assertEquals(waitStrategy, ringHandler.getWaitStrategy());
+            try {
+                final Thread[] threads = new Thread[producers];
+                for (int i = 0; i < producers; i++) {
+                    final int producer = i;
+                    threads[i] = new Thread(() -> {
+                        for (int j = 0; j < records; j++) {
+                            ringHandler.publish(new ExtLogRecord(Level.INFO, producer + ":" + j,
+                                    AsyncHandlerTests.class.getName()));
+                        }
+                    });
+                    threads[i].start();
+                }
+                for (Thread thread : threads) {
+                    thread.join();
+                }
+                // Records from a single producer must be delivered in order
+                final int[] next = new int[producers];
+                for (int i = 0; i < producers * records; i++) {
+                    final String msg = nested.getFirst();
+                    Assertions.assertNotNull(msg, () -> "Missing records for wait strategy " + waitStrategy);
+                    final int producer = Integer.parseInt(msg.substring(0, msg.indexOf(':')));
+                    Assertions.assertEquals(next[producer]++, Integer.parseInt(msg.substring(msg.indexOf(':') + 1)));
+                }
+            } finally {
+                ringHandler.close();
+                nested.close();
+            }
+        }
+    }
+
+    @Test
+    public void batch() throws Exception {
+        handler.setFormatter(new PatternFormatter("%s"));
+        asyncHandler.setBatchSize(8);
+        Assertions.assertEquals(8, asyncHandler.getBatchSize());
+        for (int i = 0; i < 100; i++) {
+            asyncHandler.publish(new ExtLogRecord(Level.INFO, "Test message " + i, AsyncHandlerTests.class.getName()));
+        }
+        for (int i = 0; i < 100; i++) {
+            Assertions.assertEquals("Test message " + i, handler.getFirst());
+        }
+        Assertions.assertThrows(IllegalArgumentException.class, () -> asyncHandler.setBatchSize(0));
+    }
+
+    @Test
+    public void partitioned() throws Exception {
+        final int loggers = 8;
+        final int records = 200;
+        for (String partitionKey : new String[] { null, "partition" }) {
+            final BlockingQueueHandler nested = new BlockingQueueHandler();
+            nested.setFormatter(new PatternFormatter("%c %s"));
+            final AsyncHandler pooledHandler = new AsyncHandler(32, null, 4);
+            pooledHandler.setPartitionKey(partitionKey);
+            pooledHandler.addHandler(nested);
+            Assertions.assertEquals(4, pooledHandler.getWorkerCount());
+            try {
+                for (int i = 0; i < records; i++) {
+                    for (int j = 0; j < loggers; j++) {
+                        final ExtLogRecord record = new ExtLogRecord(Level.INFO, Integer.toString(i),
+                                AsyncHandlerTests.class.getName());
+                        record.setLoggerName("logger" + j);
+                        MDC.put("partition", "logger" + j);
+                        pooledHandler.publish(record);
+                    }
+                }
+                // Records of a single partition must be delivered in order
+                final int[] next = new int[loggers];
+                for (int i = 0; i < loggers * records; i++) {
+                    final String msg = nested.getFirst();
+                    Assertions.assertNotNull(msg, "Missing records");
+                    final int logger = Integer.parseInt(msg.substring("logger".length(), msg.indexOf(' ')));
+                    Assertions.assertEquals(next[logger]++, Integer.parseInt(msg.substring(msg.indexOf(' ') + 1)));
+                }
+            } finally {
+                pooledHandler.close();
+                nested.close();
+            }
+        }
+    }
+
     static ExtLogRecord createRecord() {
         return new ExtLogRecord(Level.INFO, "Test message", AsyncHandlerTests.class.getName());
     }
@@ -27,6 +27,8 @@ import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.List;
 import java.util.logging.ErrorManager;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.jboss.byteman.contrib.bmunit.BMRule;
 import org.jboss.byteman.contrib.bmunit.WithByteman;
@@ -73,6 +75,38 @@ public class SizeRotatingFileHandlerTests extends AbstractHandlerTest {
         Assertions.assertTrue(Files.exists(file2));
     }
 
+    @Test
+    public void testMappedSizeRotate() throws Exception {
+        final SizeRotatingFileHandler handler = new SizeRotatingFileHandler();
+        configureHandlerDefaults(handler);
+        handler.setOutputMode(FileHandler.OutputMode.MAPPED);
+        handler.setMappedRegionSize(4096);
+        handler.setRotateSize(1024L);
+        handler.setMaxBackupIndex(2);
+        handler.setFile(logFile.toFile());
+
+        // Allow a few rotates
+        for (int i = 0; i < 100; i++) {
+            handler.publish(createLogRecord("Test message: %d", i));
+        }
+
+        handler.close();
+
+        // The rotated files should have been truncated to the written records
+        for (Path file : new Path[] { logFile, resolvePath(FILENAME + ".1"), resolvePath(FILENAME + ".2") }) {
+            Assertions.assertTrue(Files.exists(file), () -> String.format("Expected file %s to exist", file));
+            final List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+            Assertions.assertFalse(lines.isEmpty(), () -> String.format("Expected file %s to not be empty", file));
+            for (String line : lines) {
+                Assertions.assertTrue(line.contains("Test message: ") && line.indexOf('\0') == -1,
+                        () -> "Unexpected line: " + line);
+            }
+        }
+        // Only the last rotation can be smaller than the rotation size
+        Assertions.assertTrue(Files.size(resolvePath(FILENAME + ".1")) > 1024L);
+        Assertions.assertTrue(Files.size(resolvePath(FILENAME + ".1")) < 4096L);
+    }
+
     @Test
     public void testSuffixSizeRotate() throws Exception {
         final SizeRotatingFileHandler handler = new SizeRotatingFileHandler();
@@ -192,14 +226,87 @@ public class SizeRotatingFileHandlerTests extends AbstractHandlerTest {
 
     @Test
     public void testArchiveRotateGzip() throws Exception {
-        testArchiveRotate(".gz", false);
-        testArchiveRotate(".gz", true);
+        testArchiveRotate(".gz", false, false);
+        testArchiveRotate(".gz", true, false);
     }
 
     @Test
     public void testArchiveRotateZip() throws Exception {
-        testArchiveRotate(".zip", false);
-        testArchiveRotate(".zip", true);
+        testArchiveRotate(".zip", false, false);
+        testArchiveRotate(".zip", true, false);
+    }
+
+    @Test
+    public void testAsyncArchiveRotate() throws Exception {
+        testArchiveRotate(".gz", false, true);
+        testArchiveRotate(".zip", true, true);
+        // No staging or temporary files should be left once the handler is closed
+        try (Stream<Path> files = Files.list(logDirectory())) {
+            final List<Path> leftovers = files
+                    .filter(path -> path.toString().endsWith(".tmp") || path.toString().contains(".pending"))
+                    .collect(Collectors.toList());
+            Assertions.assertTrue(leftovers.isEmpty(), () -> "Unexpected files left behind: " + leftovers);
+        }
+    }
+
+    @Test
+    public void testResumeStagedArchive() throws Exception {
+        // A staging file left behind by a process which stopped before compressing it
+        final Path staged = resolvePath(FILENAME + ".pending");
+        Files.write(staged, List.of("Staged message"), StandardCharsets.UTF_8);
+
+        final SizeRotatingFileHandler handler = new SizeRotatingFileHandler();
+        configureHandlerDefaults(handler);
+        handler.setAsyncCompression(true);
+        handler.setRotateSize(1024L);
+        handler.setMaxBackupIndex(2);
+        handler.setFile(logFile.toFile());
+        handler.setSuffix(".gz");
+        handler.publish(createLogRecord("Test message"));
+        handler.close();
+
+        final Path archive = resolvePath(FILENAME + ".1.gz");
+        Assertions.assertTrue(Files.exists(archive), () -> String.format("Expected archive %s to exist", archive));
+        Assertions.assertFalse(Files.exists(staged), () -> String.format("Expected %s to be archived", staged));
+        validateGzipContents(archive, "Staged message");
+    }
+
+    @Test
+    public void testResumeStagedArchiveSharedPrefix() throws Exception {
+        // A staging file left behind by a handler writing to a file whose name starts with the name of another file
+        final Path otherFile = resolvePath(FILENAME + ".audit");
+        final Path staged = resolvePath(FILENAME + ".audit.pending");
+        Files.write(staged, List.of("Staged audit message"), StandardCharsets.UTF_8);
+
+        final SizeRotatingFileHandler handler = new SizeRotatingFileHandler();
+        configureHandlerDefaults(handler);
+        handler.setAsyncCompression(true);
+        handler.setRotateSize(1024L);
+        handler.setMaxBackupIndex(2);
+        handler.setFile(logFile.toFile());
+        handler.setSuffix(".gz");
+        handler.publish(createLogRecord("Test message"));
+        handler.close();
+
+        final Path wrongArchive = resolvePath(FILENAME + ".1.gz");
+        Assertions.assertFalse(Files.exists(wrongArchive),
+                () -> String.format("Expected %s to be left for the handler writing to %s", staged, otherFile));
+        Assertions.assertTrue(Files.exists(staged), () -> String.format("Expected %s to still exist", staged));
+
+        final SizeRotatingFileHandler otherHandler = new SizeRotatingFileHandler();
+        configureHandlerDefaults(otherHandler);
+        otherHandler.setAsyncCompression(true);
+        otherHandler.setRotateSize(1024L);
+        otherHandler.setMaxBackupIndex(2);
+        otherHandler.setFile(otherFile.toFile());
+        otherHandler.setSuffix(".gz");
+        otherHandler.publish(createLogRecord("Test message"));
+        otherHandler.close();
+
+        final Path archive = resolvePath(FILENAME + ".audit.1.gz");
+        Assertions.assertTrue(Files.exists(archive), () -> String.format("Expected archive %s to exist", archive));
+        Assertions.assertFalse(Files.exists(staged), () -> String.format("Expected %s to be archived", staged));
+        validateGzipContents(archive, "Staged audit message");
     }
 
     /**
@@ -234,9 +341,11 @@ public class SizeRotatingFileHandlerTests extends AbstractHandlerTest {
         Assertions.assertTrue(lastLine.endsWith("99"), "Expected the last line to end with 99: " + lastLine);
     }
 
-    private void testArchiveRotate(final String archiveSuffix, final boolean rotateOnBoot) throws Exception {
+    private void testArchiveRotate(final String archiveSuffix, final boolean rotateOnBoot, final boolean asyncCompression)
+            throws Exception {
         final SizeRotatingFileHandler handler = new SizeRotatingFileHandler();
         configureHandlerDefaults(handler);
+        handler.setAsyncCompression(asyncCompression);
         handler.setRotateSize(1024L);
         handler.setMaxBackupIndex(2);
         handler.setRotateOnBoot(rotateOnBoot);